@@ -0,0 +1,70 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.AsyncSteadyStateEvolver;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.operator.GeneticOperator;
+import it.units.malelab.jgea.core.selector.Tournament;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+import it.units.malelab.jgea.representation.sequence.UniformCrossover;
+import it.units.malelab.jgea.representation.sequence.bit.BitFlipMutation;
+import it.units.malelab.jgea.representation.sequence.bit.BitString;
+import it.units.malelab.jgea.representation.sequence.bit.BitStringFactory;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Same operators and parameters of {@link BitsStandard}, but with an {@link AsyncSteadyStateEvolver}. The optional
+ * {@code nInFlight} parameter is the same of {@link DoublesAsyncSteadyState}.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class BitsAsyncSteadyState implements NamedProvider<SolverBuilder<BitString>> {
+
+  private final double xOverProb;
+  private final double tournamentRate;
+  private final int minNTournament;
+  private final double pMut;
+
+  public BitsAsyncSteadyState(double xOverProb, double tournamentRate, int minNTournament, double pMut) {
+    this.xOverProb = xOverProb;
+    this.tournamentRate = tournamentRate;
+    this.minNTournament = minNTournament;
+    this.pMut = pMut;
+  }
+
+  @Override
+  public SolverBuilder<BitString> build(Map<String, String> params) {
+    int nPop = Integer.parseInt(params.get("nPop"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
+    int nInFlight = Integer.parseInt(params.getOrDefault(
+        "nInFlight",
+        Integer.toString(Math.min(nPop, Runtime.getRuntime().availableProcessors()))
+    ));
+    return new SolverBuilder<>() {
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<BitString, S, Q>, TotalOrderQualityBasedProblem<S,
+          Q>, S> build(
+          PrototypedFunctionBuilder<BitString, S> builder, S target
+      ) {
+        BitStringFactory bitsFactory = new BitStringFactory(builder.exampleFor(target).size());
+        Map<GeneticOperator<BitString>, Double> geneticOperators = Map.of(
+            new BitFlipMutation(Math.max(pMut, 1.5d / (double) builder.exampleFor(target).size())), 1d - xOverProb,
+            new UniformCrossover<>(bitsFactory).andThen(new BitFlipMutation(pMut)), xOverProb
+        );
+        return new AsyncSteadyStateEvolver<>(
+            builder.buildFor(target),
+            bitsFactory,
+            nPop,
+            stopCondition,
+            geneticOperators,
+            new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
+            nInFlight
+        );
+      }
+    };
+  }
+}
@@ -9,7 +9,6 @@ import it.units.malelab.jgea.core.selector.Tournament;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.StandardEvolver;
 import it.units.malelab.jgea.core.solver.StandardWithEnforcedDiversityEvolver;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.representation.sequence.UniformCrossover;
 import it.units.malelab.jgea.representation.sequence.bit.BitFlipMutation;
@@ -17,6 +16,7 @@ import it.units.malelab.jgea.representation.sequence.bit.BitString;
 import it.units.malelab.jgea.representation.sequence.bit.BitStringFactory;
 
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -38,7 +38,7 @@ public class BitsStandard implements NamedProvider<SolverBuilder<BitString>> {
   @Override
   public SolverBuilder<BitString> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean diversity = Boolean.parseBoolean(params.getOrDefault("diversity", "false"));
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     return new SolverBuilder<>() {
@@ -57,7 +57,7 @@ public class BitsStandard implements NamedProvider<SolverBuilder<BitString>> {
               builder.buildFor(target),
               bitsFactory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -71,7 +71,7 @@ public class BitsStandard implements NamedProvider<SolverBuilder<BitString>> {
               builder.buildFor(target),
               bitsFactory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -0,0 +1,68 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.MapElitesSolver;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Builds a {@link MapElitesSolver} binning individuals by the given descriptor, whose values are expected to be in the
+ * given ranges. {@code nPop} is the number of in-flight evaluations, {@code nBins} (default 10) the number of bins per
+ * descriptor dimension.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class DoublesMapElites implements NamedProvider<SolverBuilder<List<Double>>> {
+
+  private final double sigmaMut;
+  private final Function<?, double[]> descriptor;
+  private final double[] descriptorMins;
+  private final double[] descriptorMaxs;
+
+  public DoublesMapElites(
+      double sigmaMut,
+      Function<?, double[]> descriptor,
+      double[] descriptorMins,
+      double[] descriptorMaxs
+  ) {
+    this.sigmaMut = sigmaMut;
+    this.descriptor = descriptor;
+    this.descriptorMins = descriptorMins;
+    this.descriptorMaxs = descriptorMaxs;
+  }
+
+  @Override
+  public SolverBuilder<List<Double>> build(Map<String, String> params) {
+    int nPop = Integer.parseInt(params.get("nPop"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
+    int nBins = Integer.parseInt(params.getOrDefault("nBins", "10"));
+    return new SolverBuilder<>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<List<Double>, S, Q>,
+          TotalOrderQualityBasedProblem<S, Q>, S> build(
+          PrototypedFunctionBuilder<List<Double>, S> builder, S target
+      ) {
+        return new MapElitesSolver<>(
+            builder.buildFor(target),
+            builder.exampleFor(target).size(),
+            nPop,
+            stopCondition,
+            sigmaMut,
+            (Function<Individual<List<Double>, S, Q>, double[]>) descriptor,
+            descriptorMins,
+            descriptorMaxs,
+            nBins
+        );
+      }
+    };
+  }
+}
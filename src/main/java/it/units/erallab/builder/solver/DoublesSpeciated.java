@@ -2,12 +2,12 @@ package it.units.erallab.builder.solver;
 
 import it.units.erallab.builder.NamedProvider;
 import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.IncrementalKMeansSpeciator;
 import it.units.malelab.jgea.core.IndependentFactory;
 import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
 import it.units.malelab.jgea.core.operator.GeneticOperator;
 import it.units.malelab.jgea.core.solver.Individual;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.speciation.KMeansSpeciator;
 import it.units.malelab.jgea.core.solver.speciation.SpeciatedEvolver;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
@@ -20,6 +20,7 @@ import it.units.malelab.jgea.representation.sequence.numeric.UniformDoubleFactor
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -45,9 +46,11 @@ public class DoublesSpeciated implements NamedProvider<SolverBuilder<List<Double
   @Override
   public SolverBuilder<List<Double>> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     int nSpecies = Integer.parseInt(params.get("nSpecies"));
+    boolean incremental = Boolean.parseBoolean(params.getOrDefault("incremental", "false"));
+    int kMeansIterations = Integer.parseInt(params.getOrDefault("kMeansIterations", "2"));
     return new SolverBuilder<>() {
       @SuppressWarnings("unchecked")
       @Override
@@ -61,20 +64,18 @@ public class DoublesSpeciated implements NamedProvider<SolverBuilder<List<Double
             new GaussianMutation(sigmaMut), 1d - xOverProb,
             new UniformCrossover<>(doublesFactory).andThen(new GaussianMutation(sigmaMut)), xOverProb
         );
+        Function<Individual<List<Double>, S, Q>, double[]> typedConverter =
+            (Function<Individual<List<Double>, S, Q>, double[]>) converter;
         return new SpeciatedEvolver<>(
             builder.buildFor(target),
             doublesFactory,
             nPop,
-            StopConditions.nOfFitnessEvaluations(nEval),
+            stopCondition,
             geneticOperators,
             remap,
             nPop / nSpecies,
-            new KMeansSpeciator<>(
-                nSpecies,
-                -1,
-                new LNorm(2),
-                (Function<Individual<List<Double>, S, Q>, double[]>) converter
-            ),
+            incremental ? new IncrementalKMeansSpeciator<>(nSpecies, kMeansIterations, typedConverter) :
+                new KMeansSpeciator<>(nSpecies, -1, new LNorm(2), typedConverter),
             rankBase
         );
       }
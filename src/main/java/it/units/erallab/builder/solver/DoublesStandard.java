@@ -10,7 +10,6 @@ import it.units.malelab.jgea.core.selector.Tournament;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.StandardEvolver;
 import it.units.malelab.jgea.core.solver.StandardWithEnforcedDiversityEvolver;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.representation.sequence.FixedLengthListFactory;
 import it.units.malelab.jgea.representation.sequence.UniformCrossover;
@@ -19,6 +18,7 @@ import it.units.malelab.jgea.representation.sequence.numeric.UniformDoubleFactor
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -40,7 +40,7 @@ public class DoublesStandard implements NamedProvider<SolverBuilder<List<Double>
   @Override
   public SolverBuilder<List<Double>> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean diversity = Boolean.parseBoolean(params.getOrDefault("diversity", "false"));
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     return new SolverBuilder<>() {
@@ -60,7 +60,7 @@ public class DoublesStandard implements NamedProvider<SolverBuilder<List<Double>
               builder.buildFor(target),
               doublesFactory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -74,7 +74,7 @@ public class DoublesStandard implements NamedProvider<SolverBuilder<List<Double>
               builder.buildFor(target),
               doublesFactory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -0,0 +1,75 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.SurrogateAssistedEvolver;
+import it.units.malelab.jgea.core.IndependentFactory;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.operator.GeneticOperator;
+import it.units.malelab.jgea.core.selector.Tournament;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+import it.units.malelab.jgea.representation.sequence.FixedLengthListFactory;
+import it.units.malelab.jgea.representation.sequence.UniformCrossover;
+import it.units.malelab.jgea.representation.sequence.numeric.GaussianMutation;
+import it.units.malelab.jgea.representation.sequence.numeric.UniformDoubleFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Same operators and parameters of {@link DoublesStandard}, but with a {@link SurrogateAssistedEvolver}. Optional
+ * parameters are {@code oversampling} (bred offspring per evaluated one), {@code k} (neighbors of the surrogate), and
+ * {@code archiveSize} (evaluated individuals the surrogate learns from).
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class DoublesSurrogateAssisted implements NamedProvider<SolverBuilder<List<Double>>> {
+
+  private final double xOverProb;
+  private final double tournamentRate;
+  private final int minNTournament;
+  private final double sigmaMut;
+
+  public DoublesSurrogateAssisted(double xOverProb, double tournamentRate, int minNTournament, double sigmaMut) {
+    this.xOverProb = xOverProb;
+    this.tournamentRate = tournamentRate;
+    this.minNTournament = minNTournament;
+    this.sigmaMut = sigmaMut;
+  }
+
+  @Override
+  public SolverBuilder<List<Double>> build(Map<String, String> params) {
+    int nPop = Integer.parseInt(params.get("nPop"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
+    int oversampling = Integer.parseInt(params.getOrDefault("oversampling", "4"));
+    int k = Integer.parseInt(params.getOrDefault("k", "5"));
+    int archiveSize = Integer.parseInt(params.getOrDefault("archiveSize", "500"));
+    return new SolverBuilder<>() {
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<List<Double>, S, Q>,
+          TotalOrderQualityBasedProblem<S, Q>, S> build(
+          PrototypedFunctionBuilder<List<Double>, S> builder, S target
+      ) {
+        IndependentFactory<List<Double>> doublesFactory = new FixedLengthListFactory<>(builder.exampleFor(target)
+            .size(), new UniformDoubleFactory(-1d, 1d));
+        Map<GeneticOperator<List<Double>>, Double> geneticOperators = Map.of(
+            new GaussianMutation(sigmaMut), 1d - xOverProb,
+            new UniformCrossover<>(doublesFactory).andThen(new GaussianMutation(sigmaMut)), xOverProb
+        );
+        return new SurrogateAssistedEvolver<>(
+            builder.buildFor(target),
+            doublesFactory,
+            nPop,
+            stopCondition,
+            geneticOperators,
+            new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
+            oversampling,
+            k,
+            archiveSize
+        );
+      }
+    };
+  }
+}
@@ -0,0 +1,79 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.IslandSolver;
+import it.units.erallab.util.WorkQueue;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an {@link IslandSolver} whose islands are built by an inner provider. {@code nPop} is the population size of
+ * each island, {@code nEval}, if given, is the overall budget, evenly split among the {@code nIslands} islands. If
+ * {@code migrationDir} is given, islands of processes using the same directory and the same {@code runId} exchange
+ * migrants; {@code runId} identifies the run, and is usually set by the starter from the run keys through
+ * {@link #withRunId(String, String)}, and {@code nodeId} identifies this process and defaults to host name and pid.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class Islands<G> implements NamedProvider<SolverBuilder<G>> {
+
+  private final NamedProvider<SolverBuilder<G>> innerProvider;
+
+  public Islands(NamedProvider<SolverBuilder<G>> innerProvider) {
+    this.innerProvider = innerProvider;
+  }
+
+  public static String withRunId(String solverName, String runId) {
+    Map<String, String> params = ((NamedProvider<Map<String, String>>) p -> p).build(solverName).orElse(Map.of());
+    if (!params.containsKey("migrationDir")) {
+      return solverName;
+    }
+    return solverName + NamedProvider.TOKEN_SEPARATOR + "runId" + NamedProvider.PARAM_VALUE_SEPARATOR + runId;
+  }
+
+  @Override
+  public SolverBuilder<G> build(Map<String, String> params) {
+    int nIslands = Integer.parseInt(params.getOrDefault("nIslands", "4"));
+    int migrationInterval = Integer.parseInt(params.getOrDefault("migrationInterval", "10"));
+    int nMigrants = Integer.parseInt(params.getOrDefault("nMigrants", "1"));
+    String migrationDirName = params.get("migrationDir");
+    String runId = params.getOrDefault("runId", "run");
+    String nodeId = params.getOrDefault("nodeId", WorkQueue.defaultWorkerId());
+    Map<String, String> innerParams = new HashMap<>(params);
+    //simulated and CPU seconds are accounted for the whole run, hence they are shared, not split, among islands
+    if (params.containsKey("nEval")) {
+      innerParams.put("nEval", Integer.toString(Integer.parseInt(params.get("nEval")) / nIslands));
+    }
+    SolverBuilder<G> innerBuilder = innerProvider.build(innerParams);
+    return new SolverBuilder<>() {
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<G, S, Q>,
+          TotalOrderQualityBasedProblem<S, Q>, S> build(
+          PrototypedFunctionBuilder<G, S> builder, S target
+      ) {
+        List<IterativeSolver<? extends POSetPopulationState<G, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S>> islands =
+            new ArrayList<>();
+        for (int i = 0; i < nIslands; i++) {
+          islands.add(innerBuilder.build(builder, target));
+        }
+        return new IslandSolver<>(
+            islands,
+            builder.buildFor(target),
+            migrationInterval,
+            nMigrants,
+            migrationDirName == null ? null : new File(migrationDirName),
+            runId,
+            nodeId
+        );
+      }
+    };
+  }
+}
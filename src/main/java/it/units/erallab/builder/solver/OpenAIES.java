@@ -0,0 +1,59 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.NoiseTable;
+import it.units.erallab.solver.OpenAIESSolver;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Builds an {@link OpenAIESSolver}. Optional parameters are {@code noiseSize} (values in the noise table) and {@code
+ * noiseSeed}: processes using the same ones share the same noise table.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class OpenAIES implements NamedProvider<SolverBuilder<List<Double>>> {
+
+  private final double sigma;
+  private final double learningRate;
+  private final double weightDecay;
+
+  public OpenAIES(double sigma, double learningRate, double weightDecay) {
+    this.sigma = sigma;
+    this.learningRate = learningRate;
+    this.weightDecay = weightDecay;
+  }
+
+  @Override
+  public SolverBuilder<List<Double>> build(Map<String, String> params) {
+    int nPop = Integer.parseInt(params.get("nPop"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
+    int noiseSize = Integer.parseInt(params.getOrDefault("noiseSize", Integer.toString(1 << 22)));
+    long noiseSeed = Long.parseLong(params.getOrDefault("noiseSeed", "0"));
+    return new SolverBuilder<>() {
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<List<Double>, S, Q>,
+          TotalOrderQualityBasedProblem<S, Q>, S> build(
+          PrototypedFunctionBuilder<List<Double>, S> builder, S target
+      ) {
+        return new OpenAIESSolver<>(
+            builder.buildFor(target),
+            builder.exampleFor(target).size(),
+            nPop,
+            sigma,
+            learningRate,
+            weightDecay,
+            1d,
+            NoiseTable.get(noiseSeed, noiseSize),
+            stopCondition
+        );
+      }
+    };
+  }
+}
@@ -13,12 +13,12 @@ import it.units.malelab.jgea.core.selector.Tournament;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.StandardEvolver;
 import it.units.malelab.jgea.core.solver.StandardWithEnforcedDiversityEvolver;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.core.util.Pair;
 import it.units.malelab.jgea.representation.tree.*;
 
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -44,7 +44,7 @@ public class PairsTree implements NamedProvider<SolverBuilder<Tree<Pair<Double,
   @Override
   public SolverBuilder<Tree<Pair<Double, Double>>> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean diversity = Boolean.parseBoolean(params.getOrDefault("diversity", "false"));
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     return new SolverBuilder<>() {
@@ -68,7 +68,7 @@ public class PairsTree implements NamedProvider<SolverBuilder<Tree<Pair<Double,
               builder.buildFor(target),
               factory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -82,7 +82,7 @@ public class PairsTree implements NamedProvider<SolverBuilder<Tree<Pair<Double,
             builder.buildFor(target),
             factory,
             nPop,
-            StopConditions.nOfFitnessEvaluations(nEval),
+            stopCondition,
             geneticOperators,
             new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
             new Last(),
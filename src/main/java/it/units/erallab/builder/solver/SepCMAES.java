@@ -0,0 +1,49 @@
+package it.units.erallab.builder.solver;
+
+import it.units.erallab.builder.NamedProvider;
+import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.solver.SepCMAESSolver;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Builds a {@link SepCMAESSolver}. {@code nPop} is optional and defaults to the CMA-ES default for the genotype size.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class SepCMAES implements NamedProvider<SolverBuilder<List<Double>>> {
+
+  private final double initialSigma;
+
+  public SepCMAES(double initialSigma) {
+    this.initialSigma = initialSigma;
+  }
+
+  @Override
+  public SolverBuilder<List<Double>> build(Map<String, String> params) {
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
+    String nPop = params.get("nPop");
+    return new SolverBuilder<>() {
+      @Override
+      public <S, Q> IterativeSolver<? extends POSetPopulationState<List<Double>, S, Q>,
+          TotalOrderQualityBasedProblem<S, Q>, S> build(
+          PrototypedFunctionBuilder<List<Double>, S> builder, S target
+      ) {
+        int n = builder.exampleFor(target).size();
+        return new SepCMAESSolver<>(
+            builder.buildFor(target),
+            n,
+            nPop == null ? SepCMAESSolver.defaultLambda(n) : Integer.parseInt(nPop),
+            initialSigma,
+            1d,
+            stopCondition
+        );
+      }
+    };
+  }
+}
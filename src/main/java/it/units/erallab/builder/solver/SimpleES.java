@@ -5,13 +5,13 @@ import it.units.erallab.builder.PrototypedFunctionBuilder;
 import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.SimpleEvolutionaryStrategy;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.representation.sequence.FixedLengthListFactory;
 import it.units.malelab.jgea.representation.sequence.numeric.UniformDoubleFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -29,7 +29,7 @@ public class SimpleES implements NamedProvider<SolverBuilder<List<Double>>> {
   @Override
   public SolverBuilder<List<Double>> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     return new SolverBuilder<>() {
       @Override
@@ -41,7 +41,7 @@ public class SimpleES implements NamedProvider<SolverBuilder<List<Double>>> {
             builder.buildFor(target),
             new FixedLengthListFactory<>(builder.exampleFor(target).size(), new UniformDoubleFactory(-1d, 1d)),
             nPop,
-            StopConditions.nOfFitnessEvaluations(nEval),
+            stopCondition,
             (int) Math.round(nPop * parentsRate),
             1, sigma, remap
         );
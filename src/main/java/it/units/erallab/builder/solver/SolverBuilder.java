@@ -1,10 +1,15 @@
 package it.units.erallab.builder.solver;
 
 import it.units.erallab.builder.PrototypedFunctionBuilder;
+import it.units.erallab.util.Budget;
 import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 
+import java.util.Map;
+import java.util.function.Predicate;
+
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
  */
@@ -14,4 +19,26 @@ public interface SolverBuilder<G> {
       S target
   );
 
+  /**
+   * Builds the stop condition from the {@code nEval} (fitness evaluations), {@code simT} (simulated seconds), and
+   * {@code cpuT} (CPU seconds) parameters: the solver stops as soon as any of the given ones is reached. The last two
+   * require a {@link Budget} bound to the thread building the solver.
+   */
+  static Predicate<POSetPopulationState<?, ?, ?>> stopCondition(Map<String, String> params) {
+    if (!params.containsKey("nEval") && !params.containsKey("simT") && !params.containsKey("cpuT")) {
+      throw new IllegalArgumentException("No budget given: one of nEval, simT, or cpuT is required");
+    }
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = s -> false;
+    if (params.containsKey("nEval")) {
+      stopCondition = stopCondition.or(StopConditions.nOfFitnessEvaluations(Integer.parseInt(params.get("nEval"))));
+    }
+    if (params.containsKey("simT")) {
+      stopCondition = stopCondition.or(Budget.simulatedSecondsAtLeast(Double.parseDouble(params.get("simT"))));
+    }
+    if (params.containsKey("cpuT")) {
+      stopCondition = stopCondition.or(Budget.cpuSecondsAtLeast(Double.parseDouble(params.get("cpuT"))));
+    }
+    return stopCondition;
+  }
+
 }
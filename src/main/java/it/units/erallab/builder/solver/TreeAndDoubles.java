@@ -13,7 +13,6 @@ import it.units.malelab.jgea.core.selector.Tournament;
 import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.StandardEvolver;
 import it.units.malelab.jgea.core.solver.StandardWithEnforcedDiversityEvolver;
-import it.units.malelab.jgea.core.solver.StopConditions;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.core.util.Pair;
 import it.units.malelab.jgea.representation.sequence.FixedLengthListFactory;
@@ -24,6 +23,7 @@ import it.units.malelab.jgea.representation.tree.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * @author "Eric Medvet" on 2022/02/14 for VSREvolution
@@ -49,7 +49,7 @@ public class TreeAndDoubles implements NamedProvider<SolverBuilder<Pair<Tree<Dou
   @Override
   public SolverBuilder<Pair<Tree<Double>, List<Double>>> build(Map<String, String> params) {
     int nPop = Integer.parseInt(params.get("nPop"));
-    int nEval = Integer.parseInt(params.get("nEval"));
+    Predicate<POSetPopulationState<?, ?, ?>> stopCondition = SolverBuilder.stopCondition(params);
     boolean diversity = Boolean.parseBoolean(params.getOrDefault("diversity", "false"));
     boolean remap = Boolean.parseBoolean(params.getOrDefault("remap", "false"));
     return new SolverBuilder<>() {
@@ -78,7 +78,7 @@ public class TreeAndDoubles implements NamedProvider<SolverBuilder<Pair<Tree<Dou
               builder.buildFor(target),
               factory,
               nPop,
-              StopConditions.nOfFitnessEvaluations(nEval),
+              stopCondition,
               geneticOperators,
               new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
               new Last(),
@@ -92,7 +92,7 @@ public class TreeAndDoubles implements NamedProvider<SolverBuilder<Pair<Tree<Dou
             builder.buildFor(target),
             factory,
             nPop,
-            StopConditions.nOfFitnessEvaluations(nEval),
+            stopCondition,
             geneticOperators,
             new Tournament(Math.max(minNTournament, (int) Math.ceil((double) nPop * tournamentRate))),
             new Last(),
@@ -0,0 +1,40 @@
+package it.units.erallab.devolocomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A developmental function which keeps the genotype and the mapper it has been built with, so that independent copies
+ * of it can be built. Developmental functions may hold mutable state and they cannot be cloned by serialization, as
+ * robots are: a copy is needed whenever the same function is used by concurrent tasks (e.g., validation episodes).
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class CopyableDevoFunction implements UnaryOperator<Robot> {
+
+  private final Object genotype;
+  private final Function<Object, UnaryOperator<Robot>> mapper;
+  private final UnaryOperator<Robot> devoFunction;
+
+  public CopyableDevoFunction(Object genotype, Function<Object, UnaryOperator<Robot>> mapper) {
+    this.genotype = genotype;
+    this.mapper = mapper;
+    devoFunction = mapper.apply(genotype);
+  }
+
+  public static UnaryOperator<Robot> copyOf(UnaryOperator<Robot> devoFunction) {
+    return devoFunction instanceof CopyableDevoFunction copyableDevoFunction ? copyableDevoFunction.copy() :
+        devoFunction;
+  }
+
+  @Override
+  public Robot apply(Robot robot) {
+    return devoFunction.apply(robot);
+  }
+
+  public CopyableDevoFunction copy() {
+    return new CopyableDevoFunction(genotype, mapper);
+  }
+}
@@ -11,6 +11,8 @@ import it.units.erallab.hmsrobots.util.Grid;
 import it.units.erallab.hmsrobots.util.SerializationUtils;
 import it.units.erallab.hmsrobots.viewers.GridFileWriter;
 import it.units.erallab.hmsrobots.viewers.VideoUtils;
+import it.units.erallab.solver.SurrogateAssistedEvolver;
+import it.units.erallab.util.MetricMemo;
 import it.units.malelab.jgea.core.listener.AccumulatorFactory;
 import it.units.malelab.jgea.core.listener.NamedFunction;
 import it.units.malelab.jgea.core.listener.TableBuilder;
@@ -23,6 +25,10 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.logging.Logger;
@@ -41,7 +47,14 @@ public class NamedFunctions {
   }
 
   public static List<NamedFunction<? super POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>, ?>> basicFunctions() {
-    return List.of(iterations(), births(), fitnessEvaluations(), elapsedSeconds());
+    return List.of(
+        iterations(),
+        births(),
+        fitnessEvaluations(),
+        elapsedSeconds(),
+        it.units.erallab.locomotion.NamedFunctions.simulatedSeconds(),
+        it.units.erallab.locomotion.NamedFunctions.cpuSeconds()
+    );
   }
 
   public static List<NamedFunction<? super Individual<?, UnaryOperator<Robot>, DevoOutcome>, ?>> basicIndividualFunctions(
@@ -171,15 +184,15 @@ public class NamedFunctions {
     List<NamedFunction<? super DevoOutcome, ?>> functions = new ArrayList<>();
     functions.add(f("speed.average",
         "%4.1f",
-        o -> o.getVelocities().stream().filter(v -> !v.isNaN()).mapToDouble(d -> d).average().orElse(Double.NaN)
+        o -> velocityStatistics(o).getCount() == 0 ? Double.NaN : velocityStatistics(o).getAverage()
     ));
     functions.add(f("speed.min",
         "%4.1f",
-        o -> o.getVelocities().stream().filter(v -> !v.isNaN()).mapToDouble(d -> d).min().orElse(Double.NaN)
+        o -> velocityStatistics(o).getCount() == 0 ? Double.NaN : velocityStatistics(o).getMin()
     ));
     functions.add(f("speed.max",
         "%4.1f",
-        o -> o.getVelocities().stream().filter(v -> !v.isNaN()).mapToDouble(d -> d).max().orElse(Double.NaN)
+        o -> velocityStatistics(o).getCount() == 0 ? Double.NaN : velocityStatistics(o).getMax()
     ));
     functions.add(f("time", "%2.1f", o -> o.getTimes().stream().mapToDouble(d -> d).sum()));
     if (serialize) {
@@ -203,7 +216,19 @@ public class NamedFunctions {
         uniqueness().of(each(solution())).of(all()),
         uniqueness().of(each(fitness())).of(all()),
         min.reformat("%+4.1f"),
-        median.reformat("%5.1f")
+        median.reformat("%5.1f"),
+        f(
+            "surrogate.saved.evaluations",
+            "%6d",
+            (POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome> s) -> s instanceof SurrogateAssistedEvolver.State<?, ?> surrogateState ?
+                surrogateState.getNOfSavedEvaluations() : 0L
+        ),
+        f(
+            "surrogate.accuracy",
+            "%+4.2f",
+            (POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome> s) -> s instanceof SurrogateAssistedEvolver.State<?, ?> surrogateState ?
+                surrogateState.getAccuracy() : Double.NaN
+        )
     );
   }
 
@@ -225,13 +250,16 @@ public class NamedFunctions {
       double stageMaxT,
       List<Double> developmentSchedule,
       double maxT,
-      boolean distanceBasedDevelopment
+      boolean distanceBasedDevelopment,
+      ExecutorService executorService
   ) {
     return i -> {
-      List<ValidationOutcome> outcomes = new ArrayList<>();
+      List<Callable<ValidationOutcome>> tasks = new ArrayList<>();
       for (String terrainName : terrainNames) {
         for (int seed : seeds) {
-          outcomes.add(Starter.validate(i.solution(),
+          //each task develops its own copy, since developmental functions may hold mutable state
+          tasks.add(() -> Starter.validate(
+              CopyableDevoFunction.copyOf(i.solution()),
               terrainName,
               seed,
               stageMinDistance,
@@ -242,10 +270,31 @@ public class NamedFunctions {
           ));
         }
       }
+      List<ValidationOutcome> outcomes = new ArrayList<>();
+      try {
+        for (Future<ValidationOutcome> future : executorService.invokeAll(tasks)) {
+          try {
+            outcomes.add(future.get());
+          } catch (ExecutionException e) {
+            L.warning(String.format("Cannot validate: %s", e.getCause()));
+          }
+        }
+      } catch (InterruptedException e) {
+        L.warning(String.format("Interrupted while validating: %s", e));
+        Thread.currentThread().interrupt();
+      }
       return outcomes;
     };
   }
 
+  public static DoubleSummaryStatistics velocityStatistics(DevoOutcome outcome) {
+    return MetricMemo.get(
+        outcome,
+        "velocity.statistics",
+        () -> outcome.getVelocities().stream().filter(v -> !v.isNaN()).mapToDouble(d -> d).summaryStatistics()
+    );
+  }
+
   public static List<NamedFunction<? super Individual<?, UnaryOperator<Robot>, DevoOutcome>, ?>> visualIndividualFunctions() {
     return List.of();
   }
@@ -1,6 +1,7 @@
 package it.units.erallab.devolocomotion;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hashing;
 import it.units.erallab.builder.NamedProvider;
 import it.units.erallab.builder.PrototypedFunctionBuilder;
 import it.units.erallab.builder.devofunction.*;
@@ -16,6 +17,10 @@ import it.units.erallab.hmsrobots.tasks.devolocomotion.DistanceBasedDevoLocomoti
 import it.units.erallab.hmsrobots.tasks.devolocomotion.TimeBasedDevoLocomotion;
 import it.units.erallab.hmsrobots.tasks.locomotion.Locomotion;
 import it.units.erallab.hmsrobots.util.RobotUtils;
+import it.units.erallab.solver.CheckpointingSolver;
+import it.units.erallab.util.Budget;
+import it.units.erallab.util.ListenerExecutors;
+import it.units.erallab.util.Sharding;
 import it.units.malelab.jgea.Worker;
 import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
 import it.units.malelab.jgea.core.listener.*;
@@ -28,12 +33,16 @@ import it.units.malelab.jgea.core.util.Misc;
 import org.dyn4j.dynamics.Settings;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static it.units.erallab.devolocomotion.NamedFunctions.*;
 import static it.units.erallab.hmsrobots.util.Utils.params;
@@ -70,6 +79,28 @@ public class Starter extends Worker {
       double maxT,
       boolean distanceBasedDevelopment,
       RandomGenerator random
+  ) {
+    return buildDevoLocomotionTask(
+        terrainName,
+        stageMinDistance,
+        stageMaxT,
+        developmentSchedule,
+        maxT,
+        distanceBasedDevelopment,
+        random,
+        null
+    );
+  }
+
+  public static Function<UnaryOperator<Robot>, DevoOutcome> buildDevoLocomotionTask(
+      String terrainName,
+      double stageMinDistance,
+      double stageMaxT,
+      List<Double> developmentSchedule,
+      double maxT,
+      boolean distanceBasedDevelopment,
+      RandomGenerator random,
+      Budget budget
   ) {
     if (!terrainName.contains("-rnd")) {
       Task<UnaryOperator<Robot>, DevoOutcome> devoLocomotion;
@@ -89,9 +120,12 @@ public class Starter extends Worker {
             PHYSICS_SETTINGS
         );
       }
-      return Misc.cached(devoLocomotion, CACHE_SIZE);
+      return Misc.cached(budget == null ? devoLocomotion : budget.track(
+          devoLocomotion,
+          o -> o.getTimes().stream().mapToDouble(d -> d).sum()
+      ), CACHE_SIZE);
     }
-    return r -> {
+    Function<UnaryOperator<Robot>, DevoOutcome> task = r -> {
       Task<UnaryOperator<Robot>, DevoOutcome> devoLocomotion;
       if (distanceBasedDevelopment) {
         devoLocomotion = new DistanceBasedDevoLocomotion(
@@ -111,15 +145,12 @@ public class Starter extends Worker {
       }
       return devoLocomotion.apply(r);
     };
+    return budget == null ? task : budget.track(task, o -> o.getTimes().stream().mapToDouble(d -> d).sum());
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
-  private static IterativeSolver<? extends POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>,
-      TotalOrderQualityBasedProblem<UnaryOperator<Robot>, DevoOutcome>, UnaryOperator<Robot>> buildSolver(
-      String solverName,
+  private static PrototypedFunctionBuilder<Object, UnaryOperator<Robot>> buildMapperBuilder(
       String devoFunctionMapperName,
-      UnaryOperator<Robot> target,
-      NamedProvider<SolverBuilder<?>> solverBuilderProvider,
       NamedProvider<PrototypedFunctionBuilder<?, ?>> mapperBuilderProvider
   ) {
     PrototypedFunctionBuilder<?, ?> mapperBuilder = null;
@@ -131,8 +162,42 @@ public class Starter extends Worker {
             .orElseThrow());
       }
     }
+    PrototypedFunctionBuilder<Object, UnaryOperator<Robot>> devoFunctionBuilder =
+        (PrototypedFunctionBuilder<Object, UnaryOperator<Robot>>) mapperBuilder;
+    //solutions can be copied, to be used by concurrent tasks
+    return new PrototypedFunctionBuilder<>() {
+      @Override
+      public Function<Object, UnaryOperator<Robot>> buildFor(UnaryOperator<Robot> target) {
+        Function<Object, UnaryOperator<Robot>> mapper = devoFunctionBuilder.buildFor(target);
+        return genotype -> new CopyableDevoFunction(genotype, mapper);
+      }
+
+      @Override
+      public Object exampleFor(UnaryOperator<Robot> target) {
+        return devoFunctionBuilder.exampleFor(target);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IterativeSolver<? extends POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>,
+      TotalOrderQualityBasedProblem<UnaryOperator<Robot>, DevoOutcome>, UnaryOperator<Robot>> buildSolver(
+      String solverName,
+      String devoFunctionMapperName,
+      UnaryOperator<Robot> target,
+      NamedProvider<SolverBuilder<?>> solverBuilderProvider,
+      NamedProvider<PrototypedFunctionBuilder<?, ?>> mapperBuilderProvider
+  ) {
     SolverBuilder<Object> solverBuilder = (SolverBuilder<Object>) solverBuilderProvider.build(solverName).orElseThrow();
-    return solverBuilder.build((PrototypedFunctionBuilder<Object, UnaryOperator<Robot>>) mapperBuilder, target);
+    return solverBuilder.build(buildMapperBuilder(devoFunctionMapperName, mapperBuilderProvider), target);
+  }
+
+  private static String checkpointFileName(Map<String, Object> keys) {
+    return runId(keys) + ".checkpoint";
+  }
+
+  private static String runId(Map<String, Object> keys) {
+    return Hashing.sha256().hashString(new TreeMap<>(keys).toString(), StandardCharsets.UTF_8).toString();
   }
 
   private static Function<DevoOutcome, Double> getFitnessFunctionFromName(String name) {
@@ -210,7 +275,13 @@ public class Starter extends Worker {
     String lastFileName = a("lastFile", null);
     String bestFileName = a("bestFile", null);
     String validationFileName = a("validationFile", null);
+    String checkpointDirName = a("checkpointDir", null);
+    int nOfIterationsBetweenCheckpoints = i(a("checkpointEvery", "1"));
+    boolean resume = a("resume", "false").startsWith("t");
+    String shard = a("shard", null);
+    int nOfValidationThreads = i(a("validationThreads", Integer.toString(Runtime.getRuntime().availableProcessors())));
     boolean deferred = a("deferred", "true").startsWith("t");
+    boolean listenerThread = a("listenerThread", "false").startsWith("t");
     List<String> serializationFlags = l(a("serialization", "")); //last,best,validation
     boolean output = a("output", "false").startsWith("t");
     String telegramBotId = a("telegramBotId", null);
@@ -224,8 +295,15 @@ public class Starter extends Worker {
     //providers
     NamedProvider<SolverBuilder<?>> solverBuilderProvider = NamedProvider.of(Map.ofEntries(
         Map.entry("binaryGA", new BitsStandard(0.75, 0.05, 3, 0.01)),
+        Map.entry("binarySS", new BitsAsyncSteadyState(0.75, 0.05, 3, 0.01)),
         Map.entry("numGA", new DoublesStandard(0.75, 0.05, 3, 0.35)),
+        Map.entry("numSS", new DoublesAsyncSteadyState(0.75, 0.05, 3, 0.35)),
+        Map.entry("numSurrogate", new DoublesSurrogateAssisted(0.75, 0.05, 3, 0.35)),
         Map.entry("ES", new SimpleES(0.35, 0.4)),
+        Map.entry("sepCMAES", new SepCMAES(0.35)),
+        Map.entry("openAIES", new OpenAIES(0.1, 0.05, 0.005)),
+        Map.entry("numGAIslands", new Islands<>(new DoublesStandard(0.75, 0.05, 3, 0.35))),
+        Map.entry("ESIslands", new Islands<>(new SimpleES(0.35, 0.4))),
         Map.entry("treeNumGA", new TreeAndDoubles(0.75, 0.05, 3, 0.01, 3, 6)),
         Map.entry("treePairGA", new TreeAndDoubles(0.75, 0.05, 3, 0.01, 3, 6))
     ));
@@ -296,7 +374,9 @@ public class Starter extends Worker {
       )), keysFunctions(), new File(bestFileName)));
     }
     //validation listener
+    ExecutorService validationExecutorService = null;
     if (validationFileName != null) {
+      validationExecutorService = Executors.newFixedThreadPool(nOfValidationThreads);
       if (validationTerrainNames.isEmpty()) {
         validationTerrainNames.add(terrainNames.get(0));
       }
@@ -315,7 +395,8 @@ public class Starter extends Worker {
               validationStageMaxTime,
               validationDevelopmentSchedule,
               validationEpisodeTime,
-              distanceBasedDevelopment
+              distanceBasedDevelopment,
+              validationExecutorService
           ))).onLast());
     }
     //telegram listener
@@ -327,6 +408,9 @@ public class Starter extends Worker {
       ), telegramBotId, telegramChatId));
       progressMonitor = progressMonitor.and(new TelegramProgressMonitor(telegramBotId, telegramChatId));
     }
+    //listeners possibly on their own thread, not to take threads from simulations
+    ExecutorService listenerExecutorService = listenerThread ? ListenerExecutors.newListenerExecutor("listener") :
+        executorService;
     ListenerFactory<? super POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>, Map<String, Object>> factory
         = ListenerFactory.all(
         factories);
@@ -338,13 +422,31 @@ public class Starter extends Worker {
     L.info("Terrains: " + terrainNames);
     L.info("Fitness: " + fitnessFunctionName);
     //start iterations
-    int nOfRuns = seeds.length * terrainNames.size() * devoFunctionMapperNames.size() * solverNames.size();
+    int nOfCells =
+        seeds.length * terrainNames.size() * devoFunctionMapperNames.size() * targetSensorConfigNames.size() * solverNames.size();
+    //cells of this grid have similar costs, hence no balancing is needed
+    Set<Integer> cellIndexes = new HashSet<>(IntStream.range(0, nOfCells).boxed().toList());
+    if (shard != null) {
+      int[] shardIndexes = Sharding.parse(shard);
+      cellIndexes = new HashSet<>(Sharding.shard(
+          IntStream.range(0, nOfCells).boxed().toList(),
+          shardIndexes[0],
+          shardIndexes[1]
+      ));
+      L.info(String.format("Shard %s: %d/%d runs", shard, cellIndexes.size(), nOfCells));
+    }
+    int nOfRuns = cellIndexes.size();
+    int cellIndex = -1;
     int counter = 0;
     for (int seed : seeds) {
       for (String terrainName : terrainNames) {
         for (String devoFunctionMapperName : devoFunctionMapperNames) {
           for (String targetSensorConfigName : targetSensorConfigNames) {
             for (String solverName : solverNames) {
+              cellIndex = cellIndex + 1;
+              if (!cellIndexes.contains(cellIndex)) {
+                continue;
+              }
               counter = counter + 1;
               final Random random = new Random(seed);
               //prepare keys
@@ -368,14 +470,34 @@ public class Starter extends Worker {
                   RobotUtils.buildSensorizingFunction(targetSensorConfigName)
                       .apply(RobotUtils.buildShape("box-" + gridW + "x" + gridH))
               );
-              //build solver
+              //build solver, whose stop conditions capture the budget bound to this thread
+              Budget budget = new Budget();
               IterativeSolver<? extends POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>,
                   TotalOrderQualityBasedProblem<UnaryOperator<Robot>, DevoOutcome>, UnaryOperator<Robot>> solver;
+              Budget.bind(budget);
               try {
-                solver = buildSolver(solverName, devoFunctionMapperName, target, solverBuilderProvider, mapperBuilderProvider);
+                //the run id lets island solvers of different runs share the migration dir, other solvers do not get it
+                solver = buildSolver(
+                    Islands.withRunId(solverName, runId(keys)),
+                    devoFunctionMapperName,
+                    target,
+                    solverBuilderProvider,
+                    mapperBuilderProvider
+                );
+                if (checkpointDirName != null) {
+                  solver = new CheckpointingSolver<>(
+                      solver,
+                      buildMapperBuilder(devoFunctionMapperName, mapperBuilderProvider).buildFor(target),
+                      new File(checkpointDirName, checkpointFileName(keys)),
+                      nOfIterationsBetweenCheckpoints,
+                      resume
+                  );
+                }
               } catch (ClassCastException | IllegalArgumentException e) {
                 L.warning(String.format("Cannot instantiate %s for %s: %s", solverName, devoFunctionMapperName, e));
                 continue;
+              } finally {
+                Budget.bind(null);
               }
               //optimize
               Stopwatch stopwatch = Stopwatch.createStarted();
@@ -387,14 +509,15 @@ public class Starter extends Worker {
                 Listener<? super POSetPopulationState<?, UnaryOperator<Robot>, DevoOutcome>> listener = factory.build(
                     keys);
                 if (deferred) {
-                  listener = listener.deferred(executorService);
+                  listener = listener.deferred(listenerExecutorService);
                 }
+                listener = Budget.attaching(budget, listener);
                 Problem problem = new Problem(buildDevoLocomotionTask(terrainName,
                     stageMinDistance,
                     stageMaxTime,
                     developmentSchedule,
                     episodeTime,
-                    distanceBasedDevelopment, random
+                    distanceBasedDevelopment, random, budget
                 ), Comparator.comparing(fitnessFunction).reversed());
                 Collection<UnaryOperator<Robot>> solutions = solver.solve(problem, random, executorService, listener);
                 progressMonitor.notify((float) counter / nOfRuns, String.format(
@@ -404,6 +527,7 @@ public class Starter extends Worker {
                     solutions.size(),
                     stopwatch.elapsed(TimeUnit.SECONDS)
                 ));
+                L.info(String.format("%s for %s", budget, keys));
               } catch (Exception e) {
                 L.severe(String.format("Cannot complete %s due to %s", keys, e));
               }
@@ -412,6 +536,12 @@ public class Starter extends Worker {
         }
       }
     }
+    if (listenerExecutorService != executorService) {
+      ListenerExecutors.shutdownAndWait(listenerExecutorService);
+    }
     factory.shutdown();
+    if (validationExecutorService != null) {
+      validationExecutorService.shutdown();
+    }
   }
 }
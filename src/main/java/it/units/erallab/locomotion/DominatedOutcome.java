@@ -0,0 +1,57 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * A {@link SummarizedOutcome} of a robot which has been evaluated only at a lower fidelity (e.g., on a shorter horizon
+ * or with coarser physics) and hence cannot compete with robots evaluated at full fidelity: the comparator returned by
+ * {@link #comparator(Function)} ranks it after any other outcome, regardless of its fitness. Dominated outcomes are
+ * ranked by their level, i.e., how close their fidelity is to the full one (e.g., the racing rung at which the robot
+ * was stopped), and then by fitness. Its metrics are the ones of the lower fidelity evaluation.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class DominatedOutcome extends SummarizedOutcome {
+
+  private final int level;
+
+  public DominatedOutcome(Outcome outcome, int level) {
+    super(
+        outcome.getComputationTime(),
+        outcome.getDistance(),
+        outcome.getVelocity(),
+        outcome.getCorrectedEfficiency(),
+        outcome.getAreaRatioPower(),
+        outcome.getControlPower(),
+        outcome.getAveragePosture(POSTURE_SIZE),
+        outcome instanceof SummarizedOutcome summarizedOutcome ? summarizedOutcome.getTrajectory() :
+            Trajectory.of(outcome)
+    );
+    this.level = level;
+  }
+
+  public static Comparator<Outcome> comparator(Function<Outcome, Double> fitnessFunction) {
+    return Comparator.comparing((Outcome o) -> o instanceof DominatedOutcome)
+        .thenComparing(Comparator.comparing(
+            (Outcome o) -> o instanceof DominatedOutcome dominatedOutcome ? dominatedOutcome.getLevel() : 0
+        ).reversed())
+        .thenComparing(Comparator.comparing(fitnessFunction).reversed());
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "DominatedOutcome{level=%d, velocity=%.3f, distance=%.3f}",
+        level,
+        getVelocity(),
+        getDistance()
+    );
+  }
+}
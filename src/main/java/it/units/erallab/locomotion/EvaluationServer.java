@@ -0,0 +1,136 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+import it.units.erallab.hmsrobots.tasks.locomotion.Locomotion;
+import it.units.erallab.hmsrobots.util.SerializationUtils;
+import it.units.erallab.util.LRUCache;
+import it.units.malelab.jgea.Worker;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static it.units.malelab.jgea.core.util.Args.i;
+
+/**
+ * A process which evaluates robots on behalf of {@link RemoteLocomotion} clients. Each connection carries a stream of
+ * requests, which are evaluated concurrently on the executor of this worker, and a stream of responses, sent as soon
+ * as evaluations complete, possibly out of order. When the client closes its stream of requests, the connection is
+ * closed after the responses to all the received requests have been sent. Responses carry only
+ * {@link SummarizedOutcome}s. Locomotion tasks are reused across requests for the same terrain and episode length, up
+ * to a bounded number of them, since terrains resolved from randomized ones are many and seldom requested twice.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class EvaluationServer extends Worker {
+
+  private static final int N_OF_LOCOMOTIONS = 100;
+
+  public EvaluationServer(String[] args) {
+    super(args);
+  }
+
+  public static void main(String[] args) {
+    new EvaluationServer(args);
+  }
+
+  private void handle(Socket socket, LRUCache<String, Locomotion> locomotions) {
+    try (socket) {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      List<Future<?>> pending = new ArrayList<>();
+      try {
+        while (true) {
+          long id;
+          try {
+            id = input.readLong();
+          } catch (EOFException e) {
+            break;
+          }
+          String terrainName = input.readUTF();
+          double episodeT = input.readDouble();
+          double transientT = input.readDouble();
+          byte[] robotBytes = new byte[input.readInt()];
+          input.readFully(robotBytes);
+          pending.removeIf(Future::isDone);
+          pending.add(executorService.submit(() -> {
+            SummarizedOutcome outcome = null;
+            String message = null;
+            try {
+              Robot robot = SerializationUtils.deserialize(
+                  new String(robotBytes, StandardCharsets.UTF_8),
+                  Robot.class,
+                  SerializationUtils.Mode.GZIPPED_JSON
+              );
+              Locomotion locomotion = locomotions.get(
+                  terrainName + ";" + episodeT,
+                  () -> new Locomotion(episodeT, Locomotion.createTerrain(terrainName), Starter.PHYSICS_SETTINGS)
+              );
+              outcome = SummarizedOutcome.of(locomotion.apply(robot).subOutcome(transientT, episodeT));
+            } catch (RuntimeException e) {
+              message = e.toString();
+            }
+            try {
+              synchronized (output) {
+                output.writeLong(id);
+                output.writeBoolean(outcome != null);
+                if (outcome != null) {
+                  outcome.write(output);
+                } else {
+                  output.writeUTF(message);
+                }
+                output.flush();
+              }
+            } catch (IOException e) {
+              L.warning(String.format("Cannot send outcome to %s: %s", socket.getRemoteSocketAddress(), e));
+            }
+          }));
+        }
+      } finally {
+        //the socket is closed only after the outcomes of the received requests have been sent
+        for (Future<?> future : pending) {
+          try {
+            future.get();
+          } catch (ExecutionException e) {
+            L.warning(String.format("Cannot evaluate for %s: %s", socket.getRemoteSocketAddress(), e));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+        synchronized (output) {
+          output.flush();
+        }
+      }
+    } catch (IOException e) {
+      L.warning(String.format("Connection with %s failed: %s", socket.getRemoteSocketAddress(), e));
+    }
+  }
+
+  @Override
+  public void run() {
+    int port = i(a("port", Integer.toString(RemoteLocomotion.DEFAULT_PORT)));
+    LRUCache<String, Locomotion> locomotions = new LRUCache<>(N_OF_LOCOMOTIONS);
+    try (ServerSocket serverSocket = new ServerSocket(port)) {
+      L.info(String.format("Listening on port %d", port));
+      while (true) {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        L.info(String.format("Serving %s", socket.getRemoteSocketAddress()));
+        Thread thread = new Thread(
+            () -> handle(socket, locomotions),
+            "evaluation-server-" + socket.getRemoteSocketAddress()
+        );
+        thread.setDaemon(true);
+        thread.start();
+      }
+    } catch (IOException e) {
+      L.severe(String.format("Cannot serve on port %d: %s", port, e));
+    }
+  }
+}
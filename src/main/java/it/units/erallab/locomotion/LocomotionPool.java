@@ -0,0 +1,45 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.tasks.locomotion.Locomotion;
+import org.dyn4j.dynamics.Settings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A fixed set of {@link Locomotion} tasks, one for each pre-generated variant of a randomized ({@code -rnd}) terrain.
+ * Tasks are built once and then shared: a {@link Locomotion} can run several episodes concurrently.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class LocomotionPool {
+
+  public static final String RANDOM_TERRAIN_MARKER = "-rnd";
+
+  private final List<Locomotion> locomotions;
+
+  public LocomotionPool(
+      String terrainName, double episodeT, Settings settings, int nOfVariants, RandomGenerator random
+  ) {
+    if (nOfVariants < 1) {
+      throw new IllegalArgumentException(String.format("Cannot build a pool with %d variants", nOfVariants));
+    }
+    locomotions = new ArrayList<>(nOfVariants);
+    for (int i = 0; i < nOfVariants; i++) {
+      locomotions.add(new Locomotion(
+          episodeT,
+          Locomotion.createTerrain(terrainName.replace(RANDOM_TERRAIN_MARKER, "-" + random.nextInt(10000))),
+          settings
+      ));
+    }
+  }
+
+  public Locomotion get(RandomGenerator random) {
+    return locomotions.get(random.nextInt(locomotions.size()));
+  }
+
+  public int size() {
+    return locomotions.size();
+  }
+}
@@ -0,0 +1,129 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.SerializationUtils;
+import it.units.erallab.util.Correlations;
+import it.units.erallab.util.RunningQuantile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Evaluates robots with two tiers: every robot is first simulated with a cheap task (e.g., coarser physics) and it is
+ * simulated again with the full task only if its cheap fitness is above the given percentile of the cheap fitness
+ * values observed so far. Robots which are not promoted get a {@link DominatedOutcome}, so that fitness values of the
+ * two tiers do not compete in the same ranking. Fitness is meant to be maximized. Pairs of cheap and full fitness
+ * values are kept to measure how well the cheap tier ranks robots: since the pairs of promoted robots are a
+ * range-restricted sample, a random fraction of all robots is also audited, i.e., simulated with the full task
+ * regardless of promotion, and the rank correlation is measured on the audited robots. Audits do not change the
+ * outcome returned for a robot.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class MultiFidelityLocomotion implements Function<Robot, Outcome> {
+
+  private static final int MIN_N_OF_OBSERVATIONS = 10;
+
+  private final Function<Robot, Outcome> cheapTask;
+  private final Function<Robot, Outcome> fullTask;
+  private final Function<Outcome, Double> fitnessFunction;
+  private final double percentile;
+  private final double auditRate;
+  private final RunningQuantile cheapFitnesses;
+  private final List<double[]> fitnessPairs;
+  private final List<double[]> auditedFitnessPairs;
+
+  public MultiFidelityLocomotion(
+      Function<Robot, Outcome> cheapTask,
+      Function<Robot, Outcome> fullTask,
+      Function<Outcome, Double> fitnessFunction,
+      double percentile,
+      double auditRate
+  ) {
+    this.cheapTask = cheapTask;
+    this.fullTask = fullTask;
+    this.fitnessFunction = fitnessFunction;
+    this.percentile = percentile;
+    this.auditRate = auditRate;
+    cheapFitnesses = new RunningQuantile();
+    fitnessPairs = new ArrayList<>();
+    auditedFitnessPairs = new ArrayList<>();
+  }
+
+  @Override
+  public Outcome apply(Robot robot) {
+    Outcome cheapOutcome = cheapTask.apply(SerializationUtils.clone(robot));
+    double cheapFitness = fitnessFunction.apply(cheapOutcome);
+    double rank = cheapFitnesses.add(cheapFitness);
+    boolean audited = ThreadLocalRandom.current().nextDouble() < auditRate;
+    if (cheapFitnesses.size() >= MIN_N_OF_OBSERVATIONS && rank <= percentile) {
+      if (audited) {
+        double[] pair = new double[]{cheapFitness, fitnessFunction.apply(fullTask.apply(robot))};
+        synchronized (auditedFitnessPairs) {
+          auditedFitnessPairs.add(pair);
+        }
+      }
+      return new DominatedOutcome(cheapOutcome, 0);
+    }
+    Outcome fullOutcome = fullTask.apply(robot);
+    double[] pair = new double[]{cheapFitness, fitnessFunction.apply(fullOutcome)};
+    synchronized (fitnessPairs) {
+      fitnessPairs.add(pair);
+    }
+    if (audited) {
+      synchronized (auditedFitnessPairs) {
+        auditedFitnessPairs.add(pair);
+      }
+    }
+    return fullOutcome;
+  }
+
+  private static double rankCorrelation(List<double[]> pairs) {
+    synchronized (pairs) {
+      return Correlations.spearman(
+          pairs.stream().mapToDouble(p -> p[0]).toArray(),
+          pairs.stream().mapToDouble(p -> p[1]).toArray()
+      );
+    }
+  }
+
+  public int getNOfAuditedEvaluations() {
+    synchronized (auditedFitnessPairs) {
+      return auditedFitnessPairs.size();
+    }
+  }
+
+  public int getNOfCheapEvaluations() {
+    return cheapFitnesses.size();
+  }
+
+  public int getNOfFullEvaluations() {
+    synchronized (fitnessPairs) {
+      return fitnessPairs.size();
+    }
+  }
+
+  public double getPromotedRankCorrelation() {
+    return rankCorrelation(fitnessPairs);
+  }
+
+  public double getRankCorrelation() {
+    return rankCorrelation(auditedFitnessPairs);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d/%d robots simulated at full fidelity, cheap/full rank correlation %.3f on %d audited robots (%.3f among "
+            + "promoted)",
+        getNOfFullEvaluations(),
+        getNOfCheapEvaluations(),
+        getRankCorrelation(),
+        getNOfAuditedEvaluations(),
+        getPromotedRankCorrelation()
+    );
+  }
+}
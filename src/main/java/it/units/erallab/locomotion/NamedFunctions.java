@@ -16,10 +16,8 @@
 
 package it.units.erallab.locomotion;
 
-import it.units.erallab.hmsrobots.behavior.BehaviorUtils;
 import it.units.erallab.hmsrobots.core.objects.Robot;
 import it.units.erallab.hmsrobots.core.objects.Voxel;
-import it.units.erallab.hmsrobots.core.snapshots.VoxelPoly;
 import it.units.erallab.hmsrobots.tasks.locomotion.Locomotion;
 import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
 import it.units.erallab.hmsrobots.util.Grid;
@@ -29,6 +27,9 @@ import it.units.erallab.hmsrobots.viewers.GridFileWriter;
 import it.units.erallab.hmsrobots.viewers.NamedValue;
 import it.units.erallab.hmsrobots.viewers.VideoUtils;
 import it.units.erallab.locomotion.Starter.ValidationOutcome;
+import it.units.erallab.solver.SurrogateAssistedEvolver;
+import it.units.erallab.util.Budget;
+import it.units.erallab.util.MetricMemo;
 import it.units.malelab.jgea.core.listener.Accumulator;
 import it.units.malelab.jgea.core.listener.AccumulatorFactory;
 import it.units.malelab.jgea.core.listener.NamedFunction;
@@ -42,6 +43,10 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -60,7 +65,7 @@ public class NamedFunctions {
   }
 
   public static List<NamedFunction<? super POSetPopulationState<?, Robot, Outcome>, ?>> basicFunctions() {
-    return List.of(iterations(), births(), fitnessEvaluations(), elapsedSeconds());
+    return List.of(iterations(), births(), fitnessEvaluations(), elapsedSeconds(), simulatedSeconds(), cpuSeconds());
   }
 
   public static List<NamedFunction<? super Outcome, ?>> basicOutcomeFunctions() {
@@ -117,16 +122,50 @@ public class NamedFunctions {
     return ((AccumulatorFactory<POSetPopulationState<?, Robot, Outcome>, POSetPopulationState<?, Robot, Outcome>,
         Map<String, Object>>) keys -> Accumulator.last()).then(
         state -> {
-          Outcome o = Misc.first(state.getPopulation().firsts()).fitness();
+          Trajectory trajectory = trajectory(Misc.first(state.getPopulation().firsts()).fitness());
           Table<Number> table = new ArrayTable<>(List.of("x", "y", "terrain.y"));
-          o.getObservations().values().forEach(obs -> {
-            VoxelPoly poly = BehaviorUtils.getCentralElement(obs.voxelPolies());
-            table.addRow(List.of(poly.center().x(), poly.center().y(), obs.terrainHeight()));
-          });
+          for (int i = 0; i < trajectory.size(); i++) {
+            table.addRow(List.of(
+                trajectory.getXs()[i],
+                trajectory.getYs()[i],
+                trajectory.getTerrainHeights()[i]
+            ));
+          }
           return ImagePlotters.xyLines(600, 400).apply(table);
         });
   }
 
+  public static double[] centerAngleSpectrum(Outcome outcome, double minF, double maxF, int nBins) {
+    return memoizedSpectrum(outcome, "center.angle.spectrum", minF, maxF, nBins, o -> o.getCenterAngleSpectrum(
+        minF,
+        maxF,
+        nBins
+    ));
+  }
+
+  public static double[] centerXVelocitySpectrum(Outcome outcome, double minF, double maxF, int nBins) {
+    return memoizedSpectrum(outcome, "center.x.spectrum", minF, maxF, nBins, o -> o.getCenterXVelocitySpectrum(
+        minF,
+        maxF,
+        nBins
+    ));
+  }
+
+  public static double[] centerYVelocitySpectrum(Outcome outcome, double minF, double maxF, int nBins) {
+    return memoizedSpectrum(outcome, "center.y.spectrum", minF, maxF, nBins, o -> o.getCenterYVelocitySpectrum(
+        minF,
+        maxF,
+        nBins
+    ));
+  }
+
+  public static NamedFunction<POSetPopulationState<?, ?, ?>, Double> cpuSeconds() {
+    return f("cpu.seconds", "%7.1f", s -> {
+      Budget.Snapshot snapshot = Budget.of(s);
+      return snapshot == null ? Double.NaN : snapshot.cpuSeconds();
+    });
+  }
+
   public static List<NamedFunction<? super Outcome, ?>> detailedOutcomeFunctions(
       double spectrumMinFreq, double spectrumMaxFreq, int spectrumSize
   ) {
@@ -137,51 +176,57 @@ public class NamedFunctions {
             f("control.power", "%5.1f", Outcome::getControlPower)
         ),
         NamedFunction.then(
-            cachedF(
+            f(
                 "center.x.spectrum",
-                (Outcome o) -> new ArrayList<>(o.getCenterXVelocitySpectrum(
-                        spectrumMinFreq,
-                        spectrumMaxFreq,
-                        spectrumSize
-                    )
-                    .values())
+                (Outcome o) -> spectrumValues(centerXVelocitySpectrum(
+                    o,
+                    spectrumMinFreq,
+                    spectrumMaxFreq,
+                    spectrumSize
+                ), spectrumSize)
             ),
             IntStream.range(0, spectrumSize)
                 .mapToObj(it.units.malelab.jgea.core.listener.NamedFunctions::nth)
                 .collect(Collectors.toList())
         ),
         NamedFunction.then(
-            cachedF(
+            f(
                 "center.y.spectrum",
-                (Outcome o) -> new ArrayList<>(o.getCenterYVelocitySpectrum(
-                        spectrumMinFreq,
-                        spectrumMaxFreq,
-                        spectrumSize
-                    )
-                    .values())
+                (Outcome o) -> spectrumValues(centerYVelocitySpectrum(
+                    o,
+                    spectrumMinFreq,
+                    spectrumMaxFreq,
+                    spectrumSize
+                ), spectrumSize)
             ),
             IntStream.range(0, spectrumSize)
                 .mapToObj(it.units.malelab.jgea.core.listener.NamedFunctions::nth)
                 .collect(Collectors.toList())
         ),
         NamedFunction.then(
-            cachedF(
+            f(
                 "center.angle.spectrum",
-                (Outcome o) -> new ArrayList<>(o.getCenterAngleSpectrum(spectrumMinFreq, spectrumMaxFreq, spectrumSize)
-                    .values())
+                (Outcome o) -> spectrumValues(centerAngleSpectrum(
+                    o,
+                    spectrumMinFreq,
+                    spectrumMaxFreq,
+                    spectrumSize
+                ), spectrumSize)
             ),
             IntStream.range(0, spectrumSize)
                 .mapToObj(it.units.malelab.jgea.core.listener.NamedFunctions::nth)
                 .collect(Collectors.toList())
         ),
         NamedFunction.then(
-            cachedF(
+            f(
                 "footprints.spectra",
-                (Outcome o) -> o.getFootprintsSpectra(4, spectrumMinFreq, spectrumMaxFreq, spectrumSize)
-                    .stream()
-                    .map(SortedMap::values)
-                    .flatMap(Collection::stream)
-                    .collect(Collectors.toList())
+                (Outcome o) -> {
+                  List<double[]> spectra = footprintsSpectra(o, 4, spectrumMinFreq, spectrumMaxFreq, spectrumSize);
+                  return spectrumValues(
+                      spectra == null ? null : spectra.stream().flatMapToDouble(Arrays::stream).toArray(),
+                      4 * spectrumSize
+                  );
+                }
             ),
             IntStream.range(0, 4 * spectrumSize)
                 .mapToObj(it.units.malelab.jgea.core.listener.NamedFunctions::nth)
@@ -201,6 +246,17 @@ public class NamedFunctions {
     ), List.of()).then(t -> ImagePlotters.xyLines(600, 400).apply(t));
   }
 
+  public static List<double[]> footprintsSpectra(Outcome outcome, int n, double minF, double maxF, int nBins) {
+    return MetricMemo.get(
+        outcome,
+        String.format("footprints.spectra[%d;%f;%f;%d]", n, minF, maxF, nBins),
+        () -> outcome.getObservations().isEmpty() ? null : outcome.getFootprintsSpectra(n, minF, maxF, nBins)
+            .stream()
+            .map(spectrum -> toArray(spectrum.values()))
+            .toList()
+    );
+  }
+
   public static NamedFunction<Pair<POSetPopulationState<?, Robot, Outcome>, Individual<?, Robot, Outcome>>,
       Individual<?, Robot, Outcome>> individualExtractor() {
     return f(
@@ -264,6 +320,21 @@ public class NamedFunctions {
     });
   }
 
+  private static double[] memoizedSpectrum(
+      Outcome outcome,
+      String name,
+      double minF,
+      double maxF,
+      int nBins,
+      Function<Outcome, ? extends SortedMap<?, Double>> spectrum
+  ) {
+    return MetricMemo.get(
+        outcome,
+        String.format("%s[%f;%f;%d]", name, minF, maxF, nBins),
+        () -> outcome.getObservations().isEmpty() ? null : toArray(spectrum.apply(outcome).values())
+    );
+  }
+
   public static List<NamedFunction<? super POSetPopulationState<?, Robot, Outcome>, ?>> populationFunctions(
       Function<Outcome, Double> fitnessFunction
   ) {
@@ -283,7 +354,19 @@ public class NamedFunctions {
         uniqueness().of(each(solution())).of(all()),
         uniqueness().of(each(fitness())).of(all()),
         min.reformat("%+4.1f"),
-        median.reformat("%5.1f")
+        median.reformat("%5.1f"),
+        f(
+            "surrogate.saved.evaluations",
+            "%6d",
+            (POSetPopulationState<?, Robot, Outcome> s) -> s instanceof SurrogateAssistedEvolver.State<?, ?> surrogateState ?
+                surrogateState.getNOfSavedEvaluations() : 0L
+        ),
+        f(
+            "surrogate.accuracy",
+            "%+4.2f",
+            (POSetPopulationState<?, Robot, Outcome> s) -> s instanceof SurrogateAssistedEvolver.State<?, ?> surrogateState ?
+                surrogateState.getAccuracy() : Double.NaN
+        )
     );
   }
 
@@ -304,6 +387,21 @@ public class NamedFunctions {
         solution()));
   }
 
+  public static NamedFunction<POSetPopulationState<?, ?, ?>, Double> simulatedSeconds() {
+    return f("simulated.seconds", "%8.1f", s -> {
+      Budget.Snapshot snapshot = Budget.of(s);
+      return snapshot == null ? Double.NaN : snapshot.simulatedSeconds();
+    });
+  }
+
+  private static String spectrumBarplot(double[] spectrum) {
+    return spectrum == null ? "" : TextPlotter.barplot(Arrays.stream(spectrum).boxed().toList());
+  }
+
+  private static List<Double> spectrumValues(double[] spectrum, int size) {
+    return spectrum == null ? Collections.nCopies(size, Double.NaN) : Arrays.stream(spectrum).boxed().toList();
+  }
+
   public static NamedFunction<Pair<POSetPopulationState<?, Robot, Outcome>, Individual<?, Robot, Outcome>>,
       POSetPopulationState<?, Robot, Outcome>> stateExtractor() {
     return f(
@@ -312,20 +410,29 @@ public class NamedFunctions {
     );
   }
 
+  private static double[] toArray(Collection<Double> values) {
+    return values.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  public static Trajectory trajectory(Outcome outcome) {
+    return MetricMemo.get(outcome, "trajectory", () -> Trajectory.of(outcome));
+  }
+
   public static Function<? super Individual<?, Robot, Outcome>, Collection<ValidationOutcome>> validation(
       List<String> terrainNames,
       List<String> transformationNames,
       List<Integer> seeds,
       double episodeTime,
-      double transientTime
+      double transientTime,
+      ExecutorService executorService
   ) {
     return i -> {
-      List<ValidationOutcome> outcomes = new ArrayList<>();
+      List<Callable<ValidationOutcome>> tasks = new ArrayList<>();
       for (String terrainName : terrainNames) {
         for (String transformationName : transformationNames) {
           for (int seed : seeds) {
-            outcomes.add(Starter.validate(
-                i.solution(),
+            tasks.add(() -> Starter.validate(
+                SerializationUtils.clone(i.solution()),
                 terrainName,
                 transformationName,
                 seed,
@@ -335,6 +442,21 @@ public class NamedFunctions {
           }
         }
       }
+      //failures are propagated, as when validating sequentially, not to produce incomplete validation rows
+      List<ValidationOutcome> outcomes = new ArrayList<>();
+      try {
+        for (Future<ValidationOutcome> future : executorService.invokeAll(tasks)) {
+          outcomes.add(future.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new IllegalStateException(e.getCause());
+      }
       return outcomes;
     };
   }
@@ -363,37 +485,28 @@ public class NamedFunctions {
   ) {
     return Misc.concat(List.of(
         List.of(
-            cachedF(
+            f(
                 "center.x.spectrum",
                 "%4.4s",
-                o -> TextPlotter.barplot(new ArrayList<>(o.getCenterXVelocitySpectrum(
-                    spectrumMinFreq,
-                    spectrumMaxFreq,
-                    4
-                ).values()))
+                o -> spectrumBarplot(centerXVelocitySpectrum(o, spectrumMinFreq, spectrumMaxFreq, 4))
             ),
-            cachedF(
+            f(
                 "center.y.spectrum",
                 "%4.4s",
-                o -> TextPlotter.barplot(new ArrayList<>(o.getCenterYVelocitySpectrum(
-                    spectrumMinFreq,
-                    spectrumMaxFreq,
-                    4
-                ).values()))
+                o -> spectrumBarplot(centerYVelocitySpectrum(o, spectrumMinFreq, spectrumMaxFreq, 4))
             ),
-            cachedF(
+            f(
                 "center.angle.spectrum",
                 "%4.4s",
-                o -> TextPlotter.barplot(new ArrayList<>(o.getCenterAngleSpectrum(spectrumMinFreq, spectrumMaxFreq, 4)
-                    .values()))
+                o -> spectrumBarplot(centerAngleSpectrum(o, spectrumMinFreq, spectrumMaxFreq, 4))
             )
         ),
         NamedFunction.then(
-            cachedF("footprints", o -> o.getFootprintsSpectra(3, spectrumMinFreq, spectrumMaxFreq, 4)),
+            f("footprints", o -> footprintsSpectra(o, 3, spectrumMinFreq, spectrumMaxFreq, 4)),
             List.of(
-                cachedF("left.spectrum", "%4.4s", l -> TextPlotter.barplot(new ArrayList<>(l.get(0).values()))),
-                cachedF("center.spectrum", "%4.4s", l -> TextPlotter.barplot(new ArrayList<>(l.get(1).values()))),
-                cachedF("right.spectrum", "%4.4s", l -> TextPlotter.barplot(new ArrayList<>(l.get(2).values())))
+                f("left.spectrum", "%4.4s", l -> l == null ? "" : spectrumBarplot(l.get(0))),
+                f("center.spectrum", "%4.4s", l -> l == null ? "" : spectrumBarplot(l.get(1))),
+                f("right.spectrum", "%4.4s", l -> l == null ? "" : spectrumBarplot(l.get(2)))
             )
         )
     ));
@@ -0,0 +1,163 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * A disk-backed store of {@link SummarizedOutcome}s which can be shared by several runs and JVMs. Summaries are
+ * appended to a log file; an index file maps each key to the offset of its record in the log. Both files are only
+ * appended, under an exclusive lock on the log, and entries added by other processes are picked up on lookup misses.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class OutcomeStore {
+
+  private static final Logger L = Logger.getLogger(OutcomeStore.class.getName());
+
+  private static final String LOG_FILE_NAME = "outcomes.log";
+  private static final String INDEX_FILE_NAME = "outcomes.idx";
+  private static final String INDEX_SEPARATOR = "\t";
+
+  private final Path logPath;
+  private final Path indexPath;
+  private final Map<String, Long> index;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+  private long indexReadBytes;
+
+  public OutcomeStore(File dir) throws IOException {
+    Files.createDirectories(dir.toPath());
+    logPath = dir.toPath().resolve(LOG_FILE_NAME);
+    indexPath = dir.toPath().resolve(INDEX_FILE_NAME);
+    index = new HashMap<>();
+    hits = new AtomicLong();
+    misses = new AtomicLong();
+    indexReadBytes = 0;
+    refresh();
+    L.info(String.format("Outcome store at %s has %d entries", dir, index.size()));
+  }
+
+  public synchronized Optional<SummarizedOutcome> get(String key) throws IOException {
+    Long offset = index.get(key);
+    if (offset == null) {
+      refresh();
+      offset = index.get(key);
+    }
+    if (offset == null) {
+      return Optional.empty();
+    }
+    try (RandomAccessFile file = new RandomAccessFile(logPath.toFile(), "r")) {
+      file.seek(offset);
+      String readKey = file.readUTF();
+      if (!readKey.equals(key)) {
+        throw new IOException(String.format("Corrupted store: found key %s at %d instead of %s", readKey, offset, key));
+      }
+      return Optional.of(SummarizedOutcome.read(file));
+    }
+  }
+
+  public Outcome get(String key, Supplier<? extends Outcome> supplier) {
+    try {
+      Optional<SummarizedOutcome> stored = get(key);
+      if (stored.isPresent()) {
+        hits.incrementAndGet();
+        return stored.get();
+      }
+    } catch (IOException e) {
+      L.warning(String.format("Cannot read outcome %s from store: %s", key, e));
+    }
+    misses.incrementAndGet();
+    Outcome outcome = supplier.get();
+    try {
+      put(key, SummarizedOutcome.of(outcome));
+    } catch (IOException e) {
+      L.warning(String.format("Cannot write outcome %s to store: %s", key, e));
+    }
+    return outcome;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public synchronized void put(String key, SummarizedOutcome outcome) throws IOException {
+    if (index.containsKey(key)) {
+      return;
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream dos = new DataOutputStream(baos)) {
+      dos.writeUTF(key);
+      outcome.write(dos);
+    }
+    try (FileChannel logChannel = FileChannel.open(
+        logPath,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE
+    ); FileLock ignored = logChannel.lock()) {
+      refresh();
+      if (index.containsKey(key)) {
+        return;
+      }
+      long offset = logChannel.size();
+      logChannel.write(ByteBuffer.wrap(baos.toByteArray()), offset);
+      logChannel.force(false);
+      Files.writeString(
+          indexPath,
+          key + INDEX_SEPARATOR + offset + "\n",
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND
+      );
+      index.put(key, offset);
+    }
+  }
+
+  private void refresh() throws IOException {
+    if (!Files.exists(indexPath)) {
+      return;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(indexPath.toFile(), "r")) {
+      if (file.length() <= indexReadBytes) {
+        return;
+      }
+      byte[] bytes = new byte[(int) (file.length() - indexReadBytes)];
+      file.seek(indexReadBytes);
+      file.readFully(bytes);
+      int lineStart = 0;
+      for (int i = 0; i < bytes.length; i++) {
+        if (bytes[i] == '\n') {
+          String[] pieces = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8).split(INDEX_SEPARATOR);
+          if (pieces.length == 2) {
+            index.put(pieces[0], Long.parseLong(pieces[1]));
+          }
+          lineStart = i + 1;
+        }
+      }
+      // an incomplete last line is read again at the next refresh
+      indexReadBytes = indexReadBytes + lineStart;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d hits, %d misses, %d entries", hits.get(), misses.get(), index.size());
+  }
+}
@@ -0,0 +1,106 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.SerializationUtils;
+import it.units.erallab.util.RunningQuantile;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Evaluates robots with asynchronous successive halving: a robot is first simulated on the shortest horizon and
+ * promoted to the next, longer, horizon only if its fitness is in the top {@code 1/eta} fraction of the fitness values
+ * observed so far on the same horizon. The returned outcome is the one of the longest horizon the robot reached: if it
+ * is not the full horizon, it is a {@link DominatedOutcome} whose level is the rung, so that truncated episodes cannot
+ * out-rank full ones. Since the simulator cannot resume an episode, each rung simulates the robot from the start: the
+ * cost of a promoted robot includes the shorter horizons. Fitness is meant to be maximized. Since the thresholds depend
+ * on the fitness values observed so far, whether a robot is promoted depends on the order in which concurrent
+ * evaluations complete: runs with racing are hence not reproducible for a given seed. The cost in simulated seconds is
+ * not accounted here, since tasks may be cached: it is accounted by the {@link it.units.erallab.util.Budget} of the
+ * run.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class RacingLocomotion implements Function<Robot, Outcome> {
+
+  private final double[] horizons;
+  private final List<Function<Robot, Outcome>> tasks;
+  private final Function<Outcome, Double> fitnessFunction;
+  private final double eta;
+  private final RunningQuantile[] rungs;
+  private final AtomicLong[] stops;
+
+  public RacingLocomotion(
+      double[] horizons,
+      List<Function<Robot, Outcome>> tasks,
+      Function<Outcome, Double> fitnessFunction,
+      double eta
+  ) {
+    if (horizons.length != tasks.size()) {
+      throw new IllegalArgumentException(String.format(
+          "Wrong number of tasks: %d expected, %d found",
+          horizons.length,
+          tasks.size()
+      ));
+    }
+    this.horizons = horizons;
+    this.tasks = tasks;
+    this.fitnessFunction = fitnessFunction;
+    this.eta = eta;
+    rungs = new RunningQuantile[horizons.length];
+    stops = new AtomicLong[horizons.length];
+    for (int i = 0; i < horizons.length; i++) {
+      rungs[i] = new RunningQuantile();
+      stops[i] = new AtomicLong();
+    }
+  }
+
+  public static double[] horizons(double episodeTime, double transientTime, int nOfRungs, double eta) {
+    double[] horizons = new double[nOfRungs];
+    for (int i = 0; i < nOfRungs; i++) {
+      horizons[i] = episodeTime / Math.pow(eta, nOfRungs - 1 - i);
+      if (horizons[i] <= transientTime) {
+        throw new IllegalArgumentException(String.format(
+            "Horizon %.2f of rung %d is not longer than transient time %.2f",
+            horizons[i],
+            i,
+            transientTime
+        ));
+      }
+    }
+    return horizons;
+  }
+
+  @Override
+  public Outcome apply(Robot robot) {
+    Outcome outcome = null;
+    for (int i = 0; i < horizons.length; i++) {
+      boolean last = i == horizons.length - 1;
+      outcome = tasks.get(i).apply(last ? robot : SerializationUtils.clone(robot));
+      if (!last) {
+        double rank = rungs[i].add(fitnessFunction.apply(outcome));
+        if (rungs[i].size() >= eta && rank <= 1d - 1d / eta) {
+          stops[i].incrementAndGet();
+          return new DominatedOutcome(outcome, i);
+        }
+      }
+    }
+    return outcome;
+  }
+
+  public long getNOfEvaluations() {
+    return rungs.length > 1 ? rungs[0].size() : 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < horizons.length - 1; i++) {
+      sb.append(String.format("%.1fs: %d/%d stopped; ", horizons[i], stops[i].get(), rungs[i].size()));
+    }
+    sb.append(String.format("%d evaluations", getNOfEvaluations()));
+    return sb.toString();
+  }
+}
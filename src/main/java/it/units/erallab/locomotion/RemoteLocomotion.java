@@ -0,0 +1,163 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.SerializationUtils;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Evaluates robots by sending them to one or more {@link EvaluationServer}s. Requests are pipelined: each connection
+ * carries many outstanding requests at once, whose responses are matched to requests by id. Robots are sent as
+ * gzipped JSON and only {@link SummarizedOutcome}s come back. Requests go to the connection with the fewest outstanding
+ * requests.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class RemoteLocomotion implements Function<Robot, Outcome>, Closeable {
+
+  public static final int DEFAULT_PORT = 9321;
+
+  private static final Logger L = Logger.getLogger(RemoteLocomotion.class.getName());
+
+  private final String terrainName;
+  private final RandomGenerator random;
+  private final double episodeT;
+  private final double transientT;
+  private final List<Connection> connections;
+  private final AtomicLong requestCounter;
+
+  public RemoteLocomotion(
+      List<String> addresses, String terrainName, RandomGenerator random, double episodeT, double transientT
+  ) throws IOException {
+    this.terrainName = terrainName;
+    this.random = random;
+    this.episodeT = episodeT;
+    this.transientT = transientT;
+    connections = new ArrayList<>();
+    for (String address : addresses) {
+      String[] pieces = address.split(":");
+      connections.add(new Connection(new InetSocketAddress(
+          pieces[0],
+          pieces.length > 1 ? Integer.parseInt(pieces[1]) : DEFAULT_PORT
+      )));
+    }
+    requestCounter = new AtomicLong();
+  }
+
+  private static class Connection {
+    private final Socket socket;
+    private final DataOutputStream output;
+    private final Map<Long, CompletableFuture<Outcome>> pending;
+    private volatile boolean closed;
+
+    private Connection(InetSocketAddress address) throws IOException {
+      socket = new Socket();
+      socket.connect(address);
+      socket.setTcpNoDelay(true);
+      output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      pending = new ConcurrentHashMap<>();
+      DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      Thread thread = new Thread(() -> read(input), "remote-locomotion-" + address);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    private void read(DataInputStream input) {
+      try {
+        while (true) {
+          long id = input.readLong();
+          boolean ok = input.readBoolean();
+          CompletableFuture<Outcome> future = pending.remove(id);
+          if (ok) {
+            SummarizedOutcome outcome = SummarizedOutcome.read(input);
+            if (future != null) {
+              future.complete(outcome);
+            }
+          } else {
+            String message = input.readUTF();
+            if (future != null) {
+              future.completeExceptionally(new RuntimeException(String.format(
+                  "Remote evaluation failed: %s",
+                  message
+              )));
+            }
+          }
+        }
+      } catch (IOException e) {
+        if (!socket.isClosed()) {
+          L.warning(String.format("Connection with %s failed: %s", socket.getRemoteSocketAddress(), e));
+        }
+      }
+      //fail the requests which will never be answered
+      closed = true;
+      pending.values().forEach(f -> f.completeExceptionally(new IOException("Connection closed")));
+      pending.clear();
+    }
+
+    private CompletableFuture<Outcome> send(
+        long id, String terrainName, double episodeT, double transientT, byte[] robotBytes
+    ) {
+      CompletableFuture<Outcome> future = new CompletableFuture<>();
+      pending.put(id, future);
+      if (closed) {
+        pending.remove(id);
+        future.completeExceptionally(new IOException("Connection closed"));
+        return future;
+      }
+      try {
+        synchronized (output) {
+          output.writeLong(id);
+          output.writeUTF(terrainName);
+          output.writeDouble(episodeT);
+          output.writeDouble(transientT);
+          output.writeInt(robotBytes.length);
+          output.write(robotBytes);
+          output.flush();
+        }
+      } catch (IOException e) {
+        pending.remove(id);
+        future.completeExceptionally(e);
+      }
+      return future;
+    }
+  }
+
+  @Override
+  public Outcome apply(Robot robot) {
+    byte[] robotBytes = SerializationUtils.serialize(robot, SerializationUtils.Mode.GZIPPED_JSON)
+        .getBytes(StandardCharsets.UTF_8);
+    Connection connection = connections.get(0);
+    for (Connection c : connections) {
+      if (c.pending.size() < connection.pending.size()) {
+        connection = c;
+      }
+    }
+    return connection.send(
+        requestCounter.incrementAndGet(),
+        terrainName.replace(LocomotionPool.RANDOM_TERRAIN_MARKER, "-" + random.nextInt(10000)),
+        episodeT,
+        transientT,
+        robotBytes
+    ).join();
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (Connection connection : connections) {
+      connection.socket.close();
+    }
+  }
+}
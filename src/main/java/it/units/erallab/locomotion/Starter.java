@@ -18,6 +18,8 @@ package it.units.erallab.locomotion;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import it.units.erallab.builder.NamedProvider;
 import it.units.erallab.builder.PrototypedFunctionBuilder;
 import it.units.erallab.builder.function.FGraph;
@@ -34,7 +36,17 @@ import it.units.erallab.hmsrobots.core.controllers.PruningMultiLayerPerceptron;
 import it.units.erallab.hmsrobots.core.objects.Robot;
 import it.units.erallab.hmsrobots.tasks.locomotion.Locomotion;
 import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.Grid;
 import it.units.erallab.hmsrobots.util.RobotUtils;
+import it.units.erallab.hmsrobots.util.SerializationUtils;
+import it.units.erallab.hmsrobots.util.Utils;
+import it.units.erallab.util.Budget;
+import it.units.erallab.util.LRUCache;
+import it.units.erallab.util.ListenerExecutors;
+import it.units.erallab.util.MetricMemo;
+import it.units.erallab.util.Sharding;
+import it.units.erallab.util.StreamRandomGenerator;
+import it.units.erallab.util.WorkQueue;
 import it.units.malelab.jgea.Worker;
 import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
 import it.units.malelab.jgea.core.listener.*;
@@ -45,11 +57,18 @@ import it.units.malelab.jgea.core.solver.IterativeSolver;
 import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
 import it.units.malelab.jgea.core.util.Misc;
 import it.units.malelab.jgea.core.util.Pair;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
 import org.dyn4j.dynamics.Settings;
 
 import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
@@ -57,6 +76,7 @@ import java.util.stream.Collectors;
 import static it.units.erallab.locomotion.NamedFunctions.*;
 import static it.units.malelab.jgea.core.listener.NamedFunctions.f;
 import static it.units.malelab.jgea.core.listener.NamedFunctions.fitness;
+import static it.units.malelab.jgea.core.listener.NamedFunctions.fitnessEvaluations;
 import static it.units.malelab.jgea.core.util.Args.*;
 
 /**
@@ -80,17 +100,110 @@ public class Starter extends Worker {
       String terrainName, String transformationName, int seed, Outcome outcome
   ) {}
 
+  private record EvaluationSettings(
+      double episodeTime,
+      double episodeTransientTime,
+      int nOfTerrainVariants,
+      boolean cacheOutcome,
+      boolean summarize,
+      int racingRungs,
+      double racingEta,
+      boolean multiFidelity,
+      Settings cheapPhysicsSettings,
+      double cheapPercentile,
+      double cheapAuditRate,
+      List<String> remoteWorkerAddresses,
+      OutcomeStore store,
+      Function<Outcome, Double> fitnessFunction
+  ) {}
+
+  private record RunTracking(
+      int nOfRuns,
+      Semaphore coreBudget,
+      AtomicInteger startedCounter,
+      AtomicInteger doneCounter,
+      ProgressMonitor progressMonitor,
+      WorkQueue workQueue
+  ) {}
+
   public static Function<Robot, Outcome> buildLocomotionTask(
       String terrainName, double episodeT, RandomGenerator random, boolean cacheOutcome
   ) {
-    if (!terrainName.contains("-rnd") && cacheOutcome) {
-      return Misc.cached(new Locomotion(episodeT, Locomotion.createTerrain(terrainName), PHYSICS_SETTINGS), CACHE_SIZE);
+    return buildLocomotionTask(terrainName, episodeT, random, cacheOutcome ? new LRUCache<>(CACHE_SIZE) : null);
+  }
+
+  public static Function<Robot, Outcome> buildLocomotionTask(
+      String terrainName, double episodeT, RandomGenerator random, LRUCache<String, Outcome> cache
+  ) {
+    return buildLocomotionTask(terrainName, episodeT, PHYSICS_SETTINGS, 0, random, cache);
+  }
+
+  public static Function<Robot, Outcome> buildLocomotionTask(
+      String terrainName,
+      double episodeT,
+      Settings settings,
+      int nOfTerrainVariants,
+      RandomGenerator random,
+      LRUCache<String, Outcome> cache
+  ) {
+    return buildLocomotionTask(terrainName, episodeT, settings, nOfTerrainVariants, random, cache, null);
+  }
+
+  public static Function<Robot, Outcome> buildLocomotionTask(
+      String terrainName,
+      double episodeT,
+      Settings settings,
+      int nOfTerrainVariants,
+      RandomGenerator random,
+      LRUCache<String, Outcome> cache,
+      Budget budget
+  ) {
+    if (!terrainName.contains("-rnd") && cache != null) {
+      Locomotion locomotion = new Locomotion(episodeT, Locomotion.createTerrain(terrainName), settings);
+      Function<Robot, Outcome> simulation = tracked(locomotion::apply, episodeT, budget);
+      return r -> cache.get(outcomeKey(r, terrainName, episodeT, settings), () -> simulation.apply(r));
     }
-    return r -> new Locomotion(
+    if (terrainName.contains("-rnd") && nOfTerrainVariants > 0) {
+      LocomotionPool pool = new LocomotionPool(terrainName, episodeT, settings, nOfTerrainVariants, random);
+      return tracked(r -> pool.get(random).apply(r), episodeT, budget);
+    }
+    return tracked(r -> new Locomotion(
         episodeT,
         Locomotion.createTerrain(terrainName.replace("-rnd", "-" + random.nextInt(10000))),
-        PHYSICS_SETTINGS
-    ).apply(r);
+        settings
+    ).apply(r), episodeT, budget);
+  }
+
+  private static Function<Robot, Outcome> tracked(
+      Function<Robot, Outcome> simulation, double episodeT, Budget budget
+  ) {
+    return budget == null ? simulation : budget.track(simulation, o -> episodeT);
+  }
+
+  private static Function<Robot, Outcome> buildEvaluationTask(
+      String terrainName,
+      double episodeT,
+      double transientT,
+      Settings settings,
+      int nOfTerrainVariants,
+      RandomGenerator random,
+      LRUCache<String, Outcome> cache,
+      OutcomeStore store,
+      Budget budget
+  ) {
+    Function<Robot, Outcome> task = buildLocomotionTask(
+        terrainName,
+        episodeT,
+        settings,
+        nOfTerrainVariants,
+        random,
+        cache,
+        budget
+    ).andThen(o -> o.subOutcome(transientT, episodeT));
+    if (store == null || terrainName.contains("-rnd")) {
+      return task;
+    }
+    return r -> store.get(storedOutcomeKey(r, terrainName, episodeT, transientT, settings), () -> task.apply(r));
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -119,6 +232,113 @@ public class Starter extends Worker {
     new Starter(args);
   }
 
+  public static String outcomeKey(Robot robot, String terrainName, double episodeT, Settings settings) {
+    return Hashing.sha256()
+        .newHasher()
+        .putString(robotKey(robot), StandardCharsets.UTF_8)
+        .putString(terrainName, StandardCharsets.UTF_8)
+        .putDouble(episodeT)
+        .putDouble(settings.getStepFrequency())
+        .putInt(settings.getVelocityConstraintSolverIterations())
+        .putInt(settings.getPositionConstraintSolverIterations())
+        .hash()
+        .toString();
+  }
+
+  public static String robotKey(Robot robot) {
+    //serializing is the costly part of all the keys, hence it is done once for each robot
+    return MetricMemo.get(robot, "robot.key", () -> Hashing.sha256()
+        .hashString(SerializationUtils.serialize(robot, SerializationUtils.Mode.JSON), StandardCharsets.UTF_8)
+        .toString());
+  }
+
+  public static String storedOutcomeKey(
+      Robot robot, String terrainName, double episodeT, double transientT, Settings settings
+  ) {
+    return Hashing.sha256()
+        .newHasher()
+        .putString(outcomeKey(robot, terrainName, episodeT, settings), StandardCharsets.UTF_8)
+        .putDouble(transientT)
+        .hash()
+        .toString();
+  }
+
+  public static Set<List<String>> completedKeys(String fileName, boolean allRowsAreFinal) {
+    Set<List<String>> completedKeys = new HashSet<>();
+    if (fileName == null || !new File(fileName).exists()) {
+      return completedKeys;
+    }
+    List<String> keyNames = keysFunctions().stream().map(NamedFunction::getName).toList();
+    CSVFormat csvFormat = CSVFormat.Builder.create().setDelimiter(';').setHeader().setSkipHeaderRecord(true).build();
+    try (Reader reader = new FileReader(fileName)) {
+      for (CSVRecord record : csvFormat.parse(reader)) {
+        if (!allRowsAreFinal) {
+          //a row is final if the run used any of the budgets of its solver, as in SolverBuilder.stopCondition()
+          Map<String, String> params = solverParams(record.get("solver"));
+          if (!isReached(params, "nEval", record, fitnessEvaluations().getName()) &&
+              !isReached(params, "simT", record, simulatedSeconds().getName()) &&
+              !isReached(params, "cpuT", record, cpuSeconds().getName())) {
+            continue;
+          }
+        }
+        completedKeys.add(keyNames.stream().map(n -> record.get(n).trim()).toList());
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      L.warning(String.format("Cannot read completed runs from %s: %s", fileName, e));
+    }
+    return completedKeys;
+  }
+
+  public static double estimatedCost(Map<String, Object> keys) {
+    //proportional to simulated voxel-seconds, up to the first budget reached
+    double nOfVoxels = RobotUtils.buildShape(keys.get("shape").toString()).count(Boolean.TRUE::equals);
+    Map<String, String> params = solverParams(keys.get("solver").toString());
+    double simulatedSeconds = Double.POSITIVE_INFINITY;
+    if (params.containsKey("nEval")) {
+      simulatedSeconds = ((Number) keys.get("episode.time")).doubleValue() * Integer.parseInt(params.get("nEval"));
+    }
+    if (params.containsKey("simT")) {
+      simulatedSeconds = Math.min(simulatedSeconds, Double.parseDouble(params.get("simT")));
+    }
+    if (Double.isFinite(simulatedSeconds)) {
+      return nOfVoxels * simulatedSeconds;
+    }
+    //CPU seconds are already a cost, regardless of the robot size
+    return Double.parseDouble(params.getOrDefault("cpuT", "1"));
+  }
+
+  private static boolean isReached(Map<String, String> params, String paramName, CSVRecord record, String name) {
+    return params.containsKey(paramName) &&
+        Double.parseDouble(record.get(name).trim()) >= Double.parseDouble(params.get(paramName));
+  }
+
+  private static Map<String, String> solverParams(String solverName) {
+    return ((NamedProvider<Map<String, String>>) params -> params).build(solverName).orElse(Map.of());
+  }
+
+  public static List<String> formattedKeys(Map<String, Object> keys) {
+    return keysFunctions().stream().map(f -> String.format(f.getFormat(), f.apply(keys)).trim()).toList();
+  }
+
+  public static String runId(Map<String, Object> keys) {
+    return Hashing.sha256().hashString(String.join(";", formattedKeys(keys)), StandardCharsets.UTF_8).toString();
+  }
+
+  public static Settings coarserSettings(Settings settings, double stepFactor, double iterationsFactor) {
+    Settings coarserSettings = new Settings();
+    coarserSettings.copy(settings);
+    coarserSettings.setStepFrequency(settings.getStepFrequency() * stepFactor);
+    coarserSettings.setVelocityConstraintSolverIterations((int) Math.max(
+        1,
+        Math.round(settings.getVelocityConstraintSolverIterations() * iterationsFactor)
+    ));
+    coarserSettings.setPositionConstraintSolverIterations((int) Math.max(
+        1,
+        Math.round(settings.getPositionConstraintSolverIterations() * iterationsFactor)
+    ));
+    return coarserSettings;
+  }
+
   public static ValidationOutcome validate(
       Robot robot, String terrainName, String transformationName, int seed, double episodeTime, double transientTime
   ) {
@@ -158,13 +378,33 @@ public class Starter extends Worker {
     String allFileName = a("allFile", null);
     String finalFileName = a("finalFile", null);
     String validationFileName = a("validationFile", null);
+    int nOfValidationThreads = i(a("validationThreads", Integer.toString(Runtime.getRuntime().availableProcessors())));
     boolean deferred = a("deferred", "true").startsWith("t");
+    boolean listenerThread = a("listenerThread", "false").startsWith("t");
     String telegramBotId = a("telegramBotId", null);
     long telegramChatId = Long.parseLong(a("telegramChatId", "0"));
     List<String> serializationFlags = l(a("serialization", "")); //last,best,all,final
     boolean output = a("output", "false").startsWith("t");
     boolean detailedOutput = a("detailedOutput", "false").startsWith("t");
     boolean cacheOutcome = a("cache", "false").startsWith("t");
+    String cacheDirName = a("cacheDir", null);
+    int racingRungs = i(a("racingRungs", "1"));
+    double racingEta = d(a("racingEta", "3"));
+    int nOfTerrainVariants = i(a("terrainVariants", "0"));
+    boolean multiFidelity = a("multiFidelity", "false").startsWith("t");
+    boolean summarize = a("summarize", "false").startsWith("t");
+    int nOfParallelRuns = i(a("parallelRuns", "1"));
+    boolean skipCompleted = a("skipCompleted", "false").startsWith("t");
+    String shard = a("shard", null);
+    boolean shardBalance = a("shardBalance", "false").startsWith("t");
+    String queueDirName = a("queueDir", null);
+    String workerId = a("workerId", null);
+    List<String> remoteWorkerAddresses = l(a("remoteWorkers", "")).stream().filter(s -> !s.isEmpty()).toList();
+    double cheapStepFactor = d(a("cheapStepFactor", "2"));
+    double cheapIterationsFactor = d(a("cheapIterationsFactor", "0.5"));
+    double cheapPercentile = d(a("cheapPercentile", "0.5"));
+    double cheapAuditRate = d(a("cheapAuditRate", "0.05"));
+    Settings cheapPhysicsSettings = coarserSettings(PHYSICS_SETTINGS, cheapStepFactor, cheapIterationsFactor);
     List<String> validationTransformationNames = l(a("validationTransformation", "")).stream()
         .filter(s -> !s.isEmpty())
         .collect(Collectors.toList());
@@ -172,11 +412,34 @@ public class Starter extends Worker {
         .filter(s -> !s.isEmpty())
         .collect(Collectors.toList());
     Function<Outcome, Double> fitnessFunction = Outcome::getVelocity;
+    //work queue
+    WorkQueue workQueue = null;
+    if (queueDirName != null) {
+      try {
+        workQueue = new WorkQueue(new File(queueDirName), workerId == null ? WorkQueue.defaultWorkerId() : workerId);
+      } catch (IOException e) {
+        L.severe(String.format("Cannot open work queue at %s: %s", queueDirName, e));
+        return;
+      }
+      lastFileName = WorkQueue.workerFileName(lastFileName, workQueue.getWorkerId());
+      bestFileName = WorkQueue.workerFileName(bestFileName, workQueue.getWorkerId());
+      allFileName = WorkQueue.workerFileName(allFileName, workQueue.getWorkerId());
+      finalFileName = WorkQueue.workerFileName(finalFileName, workQueue.getWorkerId());
+      validationFileName = WorkQueue.workerFileName(validationFileName, workQueue.getWorkerId());
+      L.info(String.format("Pulling runs from work queue %s as %s", queueDirName, workQueue.getWorkerId()));
+    }
     //providers
     NamedProvider<SolverBuilder<?>> solverBuilderProvider = NamedProvider.of(Map.ofEntries(
         Map.entry("binaryGA", new BitsStandard(0.75, 0.05, 3, 0.01)),
+        Map.entry("binarySS", new BitsAsyncSteadyState(0.75, 0.05, 3, 0.01)),
         Map.entry("numGA", new DoublesStandard(0.75, 0.05, 3, 0.35)),
+        Map.entry("numSS", new DoublesAsyncSteadyState(0.75, 0.05, 3, 0.35)),
+        Map.entry("numSurrogate", new DoublesSurrogateAssisted(0.75, 0.05, 3, 0.35)),
         Map.entry("ES", new SimpleES(0.35, 0.4)),
+        Map.entry("sepCMAES", new SepCMAES(0.35)),
+        Map.entry("openAIES", new OpenAIES(0.1, 0.05, 0.005)),
+        Map.entry("numGAIslands", new Islands<>(new DoublesStandard(0.75, 0.05, 3, 0.35))),
+        Map.entry("ESIslands", new Islands<>(new SimpleES(0.35, 0.4))),
         Map.entry("numSpeciated", new DoublesSpeciated(
             0.75,
             0.35,
@@ -187,6 +450,15 @@ public class Starter extends Worker {
                 .stream()
                 .mapToDouble(b -> b ? 1d : 0d)
                 .toArray()
+        )),
+        Map.entry("numMAPElites", new DoublesMapElites(
+            0.35,
+            (Function<Individual<?, Robot, Outcome>, double[]>) i -> {
+              Grid<Boolean> posture = i.fitness().getAveragePosture(8);
+              return new double[]{Utils.shapeCompactness(posture), Utils.shapeElongation(posture, 4)};
+            },
+            new double[]{0d, 0d},
+            new double[]{1d, 1d}
         ))
     ));
     NamedProvider<PrototypedFunctionBuilder<?, ?>> mapperBuilderProvider = NamedProvider.of(Map.ofEntries(
@@ -271,8 +543,10 @@ public class Starter extends Worker {
     List<ListenerFactory<? super POSetPopulationState<?, Robot, Outcome>, Map<String, Object>>> factories =
         new ArrayList<>();
     ProgressMonitor progressMonitor = new ScreenProgressMonitor(System.out);
-    //screen listener
+    //screen listener: with parallel runs, lines of different runs are interleaved and the keys tell them apart
     if (bestFileName == null || output) {
+      List<NamedFunction<? super Map<String, Object>, ?>> screenKeysFunctions = nOfParallelRuns > 1 ?
+          keysFunctions() : List.of();
       factories.add(new TabularPrinter<>(Misc.concat(List.of(
           basicFunctions,
           populationFunctions,
@@ -280,9 +554,9 @@ public class Starter extends Worker {
           best().then(basicIndividualFunctions),
           basicOutcomeFunctions.stream().map(f -> f.of(fitness()).of(best())).toList(),
           visualOutcomeFunctions.stream().map(f -> f.of(fitness()).of(best())).toList()
-      )), List.of()));
+      )), screenKeysFunctions));
     }
-    //file listeners
+    //file listeners are shared by all runs: with parallel runs, rows are interleaved and keys tell them apart
     if (lastFileName != null) {
       factories.add(new CSVPrinter<>(Misc.concat(List.of(
           basicFunctions,
@@ -328,7 +602,9 @@ public class Starter extends Worker {
       ).forEach(populationSplitter()).onLast());
     }
     //validation listener
+    ExecutorService validationExecutorService = null;
     if (validationFileName != null) {
+      validationExecutorService = Executors.newFixedThreadPool(nOfValidationThreads);
       if (!validationTerrainNames.isEmpty() && validationTransformationNames.isEmpty()) {
         validationTransformationNames.add("identity");
       }
@@ -348,101 +624,68 @@ public class Starter extends Worker {
                   validationTransformationNames,
                   List.of(0),
                   validationEpisodeTime,
-                  validationTransientTime
+                  validationTransientTime,
+                  validationExecutorService
               ))).onLast());
     }
-    //telegram listener
-    if (telegramBotId != null && telegramChatId != 0) {
-      factories.add(new TelegramUpdater<>(List.of(
-          lastEventToString(fitnessFunction),
-          fitnessPlot(fitnessFunction),
-          centerPositionPlot(),
-          bestVideo(videoEpisodeTransientTime, videoEpisodeTime)
-      ), telegramBotId, telegramChatId));
-      progressMonitor = progressMonitor.and(new TelegramProgressMonitor(telegramBotId, telegramChatId));
-    }
-    ListenerFactory<? super POSetPopulationState<?, Robot, Outcome>, Map<String, Object>> factory = ListenerFactory.all(
-        factories);
-    //summarize params
-    L.info("Experiment name: " + experimentName);
-    L.info("Solvers: " + solverNames);
-    L.info("Mappers: " + mapperNames);
-    L.info("Shapes: " + targetShapeNames);
-    L.info("Sensor configs: " + targetSensorConfigNames);
-    L.info("Terrains: " + terrainNames);
-    L.info("Transformations: " + transformationNames);
-    L.info("Validations: " + Lists.cartesianProduct(validationTerrainNames, validationTransformationNames));
-    //start iterations
-    int nOfRuns =
-        seeds.length * terrainNames.size() * targetShapeNames.size() * targetSensorConfigNames.size() * mapperNames.size() * transformationNames.size() * solverNames.size();
-    int counter = 0;
-    for (int seed : seeds) {
-      for (String terrainName : terrainNames) {
-        for (String targetShapeName : targetShapeNames) {
-          for (String targetSensorConfigName : targetSensorConfigNames) {
-            for (String mapperName : mapperNames) {
-              for (String transformationName : transformationNames) {
-                for (String solverName : solverNames) {
-                  counter = counter + 1;
-                  final RandomGenerator random = new Random(seed);
-                  //prepare keys
-                  Map<String, Object> keys = Map.ofEntries(
-                      Map.entry("experiment.name", experimentName),
-                      Map.entry("seed", seed),
-                      Map.entry("terrain", terrainName),
-                      Map.entry("shape", targetShapeName),
-                      Map.entry("sensor.config", targetSensorConfigName),
-                      Map.entry("mapper", mapperName),
-                      Map.entry("transformation", transformationName),
-                      Map.entry("solver", solverName),
-                      Map.entry("episode.time", episodeTime),
-                      Map.entry("episode.transient.time", episodeTransientTime)
-                  );
-                  //prepare target
-                  Robot target = new Robot(
-                      Controller.empty(),
-                      RobotUtils.buildSensorizingFunction(targetSensorConfigName)
-                          .apply(RobotUtils.buildShape(targetShapeName))
-                  );
-                  //build evolver
-                  IterativeSolver<? extends POSetPopulationState<?, Robot, Outcome>,
-                      TotalOrderQualityBasedProblem<Robot, Outcome>, Robot> solver;
-                  try {
-                    solver = buildSolver(solverName, mapperName, target, solverBuilderProvider, mapperBuilderProvider);
-                  } catch (NoSuchElementException e) {
-                    L.warning(String.format("Cannot instantiate %s for %s: %s", solverName, mapperName, e));
-                    continue;
-                  }
-                  //optimize
-                  Stopwatch stopwatch = Stopwatch.createStarted();
-                  progressMonitor.notify(
-                      ((float) counter - 1) / nOfRuns,
-                      String.format("(%d/%d); Starting %s", counter, nOfRuns, keys)
-                  );
-                  try {
-                    Listener<? super POSetPopulationState<?, Robot, Outcome>> listener = factory.build(keys);
-                    if (deferred) {
-                      listener = listener.deferred(executorService);
-                    }
-                    Problem problem = new Problem(
-                        RobotUtils.buildRobotTransformation(transformationName, random)
-                            .andThen(buildLocomotionTask(terrainName, episodeTime, random, cacheOutcome))
-                            .andThen(o -> o.subOutcome(
-                                episodeTransientTime,
-                                episodeTime
-                            )),
-                        Comparator.comparing(fitnessFunction).reversed()
-                    );
-                    Collection<Robot> solutions = solver.solve(problem, random, executorService, listener);
-                    progressMonitor.notify((float) counter / nOfRuns, String.format(
-                        "(%d/%d); Done: %d solutions in %4ds",
-                        counter,
-                        nOfRuns,
-                        solutions.size(),
-                        stopwatch.elapsed(TimeUnit.SECONDS)
+    //the validation pool is shut down also if runs cannot be started
+    try {
+      //telegram listener
+      if (telegramBotId != null && telegramChatId != 0) {
+        factories.add(new TelegramUpdater<>(List.of(
+            lastEventToString(fitnessFunction),
+            fitnessPlot(fitnessFunction),
+            centerPositionPlot(),
+            bestVideo(videoEpisodeTransientTime, videoEpisodeTime)
+        ), telegramBotId, telegramChatId));
+        progressMonitor = progressMonitor.and(new TelegramProgressMonitor(telegramBotId, telegramChatId));
+      }
+      ListenerFactory<? super POSetPopulationState<?, Robot, Outcome>, Map<String, Object>> factory =
+          ListenerFactory.all(factories);
+      //summarize params
+      L.info("Experiment name: " + experimentName);
+      L.info("Solvers: " + solverNames);
+      L.info("Mappers: " + mapperNames);
+      L.info("Shapes: " + targetShapeNames);
+      L.info("Sensor configs: " + targetSensorConfigNames);
+      L.info("Terrains: " + terrainNames);
+      L.info("Transformations: " + transformationNames);
+      L.info("Validations: " + Lists.cartesianProduct(validationTerrainNames, validationTransformationNames));
+      if (racingRungs > 1 && multiFidelity) {
+        L.warning("Both racing and multi-fidelity evaluation requested: only racing will be used");
+      }
+      if (!remoteWorkerAddresses.isEmpty() && (racingRungs > 1 || multiFidelity)) {
+        L.warning("Remote workers are not used with racing or multi-fidelity evaluation: evaluating locally");
+      }
+      OutcomeStore store = null;
+      if (cacheDirName != null) {
+        try {
+          store = new OutcomeStore(new File(cacheDirName));
+        } catch (IOException e) {
+          L.warning(String.format("Cannot open outcome store at %s: %s", cacheDirName, e));
+        }
+      }
+      //expand grid
+      List<Map<String, Object>> cells = new ArrayList<>();
+      for (int seed : seeds) {
+        for (String terrainName : terrainNames) {
+          for (String targetShapeName : targetShapeNames) {
+            for (String targetSensorConfigName : targetSensorConfigNames) {
+              for (String mapperName : mapperNames) {
+                for (String transformationName : transformationNames) {
+                  for (String solverName : solverNames) {
+                    cells.add(Map.ofEntries(
+                        Map.entry("experiment.name", experimentName),
+                        Map.entry("seed", seed),
+                        Map.entry("terrain", terrainName),
+                        Map.entry("shape", targetShapeName),
+                        Map.entry("sensor.config", targetSensorConfigName),
+                        Map.entry("mapper", mapperName),
+                        Map.entry("transformation", transformationName),
+                        Map.entry("solver", solverName),
+                        Map.entry("episode.time", episodeTime),
+                        Map.entry("episode.transient.time", episodeTransientTime)
                     ));
-                  } catch (Exception e) {
-                    L.severe(String.format("Cannot complete %s due to %s", keys, e));
                   }
                 }
               }
@@ -450,8 +693,348 @@ public class Starter extends Worker {
           }
         }
       }
+      if (shard != null) {
+        int[] shardIndexes = Sharding.parse(shard);
+        int nOfCells = cells.size();
+        cells = shardBalance ? Sharding.shard(
+            cells,
+            shardIndexes[0],
+            shardIndexes[1],
+            Starter::estimatedCost
+        ) : Sharding.shard(cells, shardIndexes[0], shardIndexes[1]);
+        L.info(String.format("Shard %s: %d/%d runs", shard, cells.size(), nOfCells));
+      }
+      if (skipCompleted) {
+        Set<List<String>> completedKeys = new HashSet<>(completedKeys(lastFileName, true));
+        completedKeys.addAll(completedKeys(bestFileName, false));
+        int nOfCells = cells.size();
+        cells = cells.stream().filter(keys -> !completedKeys.contains(formattedKeys(keys))).toList();
+        L.info(String.format("Skipping %d/%d completed runs", nOfCells - cells.size(), nOfCells));
+      }
+      //start iterations
+      int nOfRuns = cells.size();
+      int nOfCores = Runtime.getRuntime().availableProcessors();
+      Semaphore coreBudget = new Semaphore(nOfCores, true);
+      ExecutorService runExecutorService = Executors.newFixedThreadPool(nOfParallelRuns);
+      AtomicInteger startedCounter = new AtomicInteger();
+      AtomicInteger doneCounter = new AtomicInteger();
+      NamedProvider<PrototypedFunctionBuilder<?, ?>> finalMapperBuilderProvider = mapperBuilderProvider;
+      EvaluationSettings evaluationSettings = new EvaluationSettings(
+          episodeTime,
+          episodeTransientTime,
+          nOfTerrainVariants,
+          cacheOutcome,
+          summarize,
+          racingRungs,
+          racingEta,
+          multiFidelity,
+          cheapPhysicsSettings,
+          cheapPercentile,
+          cheapAuditRate,
+          remoteWorkerAddresses,
+          store,
+          fitnessFunction
+      );
+      RunTracking runTracking = new RunTracking(
+          nOfRuns,
+          coreBudget,
+          startedCounter,
+          doneCounter,
+          progressMonitor,
+          workQueue
+      );
+      List<Future<?>> runFutures = new ArrayList<>();
+      for (Map<String, Object> keys : cells) {
+        //runs with small populations take a part of the core budget and can be packed together
+        int nOfRunCores = Math.min(nOfCores, ((NamedProvider<Integer>) params -> Integer.parseInt(params.get("nPop")))
+            .build(keys.get("solver").toString())
+            .orElse(nOfCores));
+        runFutures.add(runExecutorService.submit(() -> runCell(
+            keys,
+            nOfRunCores,
+            solverBuilderProvider,
+            finalMapperBuilderProvider,
+            factory,
+            deferred,
+            listenerThread,
+            evaluationSettings,
+            runTracking
+        )));
+      }
+      for (Future<?> runFuture : runFutures) {
+        try {
+          runFuture.get();
+        } catch (InterruptedException | ExecutionException e) {
+          L.severe(String.format("Cannot complete run due to %s", e));
+        }
+      }
+      runExecutorService.shutdown();
+      factory.shutdown();
+    } finally {
+      if (validationExecutorService != null) {
+        validationExecutorService.shutdown();
+      }
+    }
+  }
+
+  private void runCell(
+      Map<String, Object> keys,
+      int nOfRunCores,
+      NamedProvider<SolverBuilder<?>> solverBuilderProvider,
+      NamedProvider<PrototypedFunctionBuilder<?, ?>> mapperBuilderProvider,
+      ListenerFactory<? super POSetPopulationState<?, Robot, Outcome>, Map<String, Object>> factory,
+      boolean deferred,
+      boolean listenerThread,
+      EvaluationSettings evaluationSettings,
+      RunTracking runTracking
+  ) {
+    double episodeTime = evaluationSettings.episodeTime();
+    double episodeTransientTime = evaluationSettings.episodeTransientTime();
+    int nOfTerrainVariants = evaluationSettings.nOfTerrainVariants();
+    boolean cacheOutcome = evaluationSettings.cacheOutcome();
+    boolean summarize = evaluationSettings.summarize();
+    int racingRungs = evaluationSettings.racingRungs();
+    double racingEta = evaluationSettings.racingEta();
+    boolean multiFidelity = evaluationSettings.multiFidelity();
+    Settings cheapPhysicsSettings = evaluationSettings.cheapPhysicsSettings();
+    double cheapPercentile = evaluationSettings.cheapPercentile();
+    double cheapAuditRate = evaluationSettings.cheapAuditRate();
+    List<String> remoteWorkerAddresses = evaluationSettings.remoteWorkerAddresses();
+    OutcomeStore store = evaluationSettings.store();
+    Function<Outcome, Double> fitnessFunction = evaluationSettings.fitnessFunction();
+    int nOfRuns = runTracking.nOfRuns();
+    Semaphore coreBudget = runTracking.coreBudget();
+    AtomicInteger startedCounter = runTracking.startedCounter();
+    AtomicInteger doneCounter = runTracking.doneCounter();
+    ProgressMonitor progressMonitor = runTracking.progressMonitor();
+    WorkQueue workQueue = runTracking.workQueue();
+    String item = String.join(";", formattedKeys(keys));
+    if (workQueue != null && !workQueue.claim(item)) {
+      return;
+    }
+    boolean completed = false;
+    coreBudget.acquireUninterruptibly(nOfRunCores);
+    try {
+      final int seed = (Integer) keys.get("seed");
+      final String terrainName = keys.get("terrain").toString();
+      final String targetShapeName = keys.get("shape").toString();
+      final String targetSensorConfigName = keys.get("sensor.config").toString();
+      final String mapperName = keys.get("mapper").toString();
+      final String transformationName = keys.get("transformation").toString();
+      final String solverName = keys.get("solver").toString();
+      final RandomGenerator random = new Random(seed);
+      //prepare target
+      Robot target = new Robot(
+          Controller.empty(),
+          RobotUtils.buildSensorizingFunction(targetSensorConfigName)
+              .apply(RobotUtils.buildShape(targetShapeName))
+      );
+      //the budget is accounted where simulations actually happen, i.e., behind caches and stores
+      Budget budget = new Budget();
+      //build evolver, whose stop conditions capture the budget bound to this thread
+      IterativeSolver<? extends POSetPopulationState<?, Robot, Outcome>,
+          TotalOrderQualityBasedProblem<Robot, Outcome>, Robot> solver;
+      Budget.bind(budget);
+      try {
+        //the run id lets island solvers of different runs share the migration dir, other solvers do not get it
+        solver = buildSolver(
+            Islands.withRunId(solverName, runId(keys)),
+            mapperName,
+            target,
+            solverBuilderProvider,
+            mapperBuilderProvider
+        );
+      } catch (NoSuchElementException e) {
+        L.warning(String.format("Cannot instantiate %s for %s: %s", solverName, mapperName, e));
+        return;
+      } finally {
+        Budget.bind(null);
+      }
+      //optimize
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      int runIndex = startedCounter.incrementAndGet();
+      progressMonitor.notify(
+          (float) doneCounter.get() / nOfRuns,
+          String.format("(%d/%d); Starting %s", runIndex, nOfRuns, keys)
+      );
+      //listeners possibly on their own thread, one for each run, not to take threads from simulations
+      ExecutorService listenerExecutorService = listenerThread ? ListenerExecutors.newListenerExecutor(
+          "listener-" + runIndex
+      ) : executorService;
+      try {
+        Listener<? super POSetPopulationState<?, Robot, Outcome>> listener = factory.build(keys);
+        if (deferred) {
+          listener = listener.deferred(listenerExecutorService);
+        }
+        listener = Budget.attaching(budget, listener);
+        LRUCache<String, Outcome> cache = cacheOutcome ? new LRUCache<>(CACHE_SIZE) : null;
+        //when summarizing, outcomes are cached after being summarized
+        LRUCache<String, Outcome> simulationCache = summarize ? null : cache;
+        StreamRandomGenerator evaluationRandom = new StreamRandomGenerator(seed);
+        Function<Robot, Outcome> task;
+        RacingLocomotion racingLocomotion = null;
+        MultiFidelityLocomotion multiFidelityLocomotion = null;
+        RemoteLocomotion remoteLocomotion = null;
+        if (racingRungs > 1) {
+          double[] horizons = RacingLocomotion.horizons(
+              episodeTime,
+              episodeTransientTime,
+              racingRungs,
+              racingEta
+          );
+          List<Function<Robot, Outcome>> tasks = new ArrayList<>();
+          for (double horizon : horizons) {
+            tasks.add(buildEvaluationTask(
+                terrainName,
+                horizon,
+                episodeTransientTime,
+                PHYSICS_SETTINGS,
+                nOfTerrainVariants,
+                evaluationRandom,
+                simulationCache,
+                store,
+                budget
+            ));
+          }
+          racingLocomotion = new RacingLocomotion(horizons, tasks, fitnessFunction, racingEta);
+          task = racingLocomotion;
+        } else if (multiFidelity) {
+          multiFidelityLocomotion = new MultiFidelityLocomotion(
+              buildEvaluationTask(
+                  terrainName,
+                  episodeTime,
+                  episodeTransientTime,
+                  cheapPhysicsSettings,
+                  nOfTerrainVariants,
+                  evaluationRandom,
+                  simulationCache,
+                  store,
+                  budget
+              ),
+              buildEvaluationTask(
+                  terrainName,
+                  episodeTime,
+                  episodeTransientTime,
+                  PHYSICS_SETTINGS,
+                  nOfTerrainVariants,
+                  evaluationRandom,
+                  simulationCache,
+                  store,
+                  budget
+              ),
+              fitnessFunction,
+              cheapPercentile,
+              cheapAuditRate
+          );
+          task = multiFidelityLocomotion;
+        } else if (!remoteWorkerAddresses.isEmpty()) {
+          remoteLocomotion = new RemoteLocomotion(
+              remoteWorkerAddresses,
+              terrainName,
+              evaluationRandom,
+              episodeTime,
+              episodeTransientTime
+          );
+          task = budget.track(remoteLocomotion, o -> episodeTime);
+        } else {
+          task = buildEvaluationTask(
+              terrainName,
+              episodeTime,
+              episodeTransientTime,
+              PHYSICS_SETTINGS,
+              nOfTerrainVariants,
+              evaluationRandom,
+              cache,
+              store,
+              budget
+          );
+        }
+        SummarizingLocomotion summarizingLocomotion = null;
+        if (summarize) {
+          summarizingLocomotion = new SummarizingLocomotion(
+              task,
+              fitnessFunction,
+              terrainName.contains("-rnd") ? null : cache,
+              r -> outcomeKey(r, terrainName, episodeTime, PHYSICS_SETTINGS)
+          );
+          task = summarizingLocomotion;
+          listener = summarizingLocomotion.observing(listener);
+        }
+        Function<Robot, Outcome> evaluation = RobotUtils.buildRobotTransformation(
+            transformationName,
+            evaluationRandom
+        ).andThen(task);
+        if (terrainName.contains("-rnd") || !transformationName.equals("identity")) {
+          Function<Robot, Outcome> unboundEvaluation = evaluation;
+          evaluation = r -> {
+            //the key is then reused by caches and stores, if the robot is evaluated as is
+            evaluationRandom.bind(HashCode.fromString(robotKey(r)).asLong());
+            return unboundEvaluation.apply(r);
+          };
+        }
+        Problem problem = new Problem(evaluation, DominatedOutcome.comparator(fitnessFunction));
+        Collection<Robot> solutions;
+        try {
+          solutions = solver.solve(problem, random, executorService, listener);
+        } finally {
+          if (remoteLocomotion != null) {
+            try {
+              remoteLocomotion.close();
+            } catch (IOException e) {
+              L.warning(String.format("Cannot close remote evaluation for %s: %s", keys, e));
+            }
+          }
+        }
+        progressMonitor.notify((float) doneCounter.incrementAndGet() / nOfRuns, String.format(
+            "(%d/%d); Done: %d solutions in %4ds",
+            runIndex,
+            nOfRuns,
+            solutions.size(),
+            stopwatch.elapsed(TimeUnit.SECONDS)
+        ));
+        if (workQueue != null) {
+          workQueue.done(item);
+        }
+        completed = true;
+        if (cache != null) {
+          L.info(String.format("Outcome cache for %s: %s", keys, cache));
+        }
+        if (store != null) {
+          L.info(String.format("Outcome store: %s", store));
+        }
+        if (racingLocomotion != null) {
+          L.info(String.format(
+              "Racing for %s: %s; %.0f simulated seconds instead of %.0f",
+              keys,
+              racingLocomotion,
+              budget.getSimulatedSeconds(),
+              racingLocomotion.getNOfEvaluations() * episodeTime
+          ));
+        }
+        if (multiFidelityLocomotion != null) {
+          L.info(String.format("Multi-fidelity for %s: %s", keys, multiFidelityLocomotion));
+        }
+        if (summarizingLocomotion != null) {
+          L.info(String.format("Summarization for %s: %s", keys, summarizingLocomotion));
+        }
+        L.info(String.format("%s for %s", budget, keys));
+      } catch (Exception e) {
+        L.severe(String.format("Cannot complete %s due to %s", keys, e));
+      } finally {
+        if (listenerExecutorService != executorService) {
+          ListenerExecutors.shutdownAndWait(listenerExecutorService);
+        }
+      }
+    } finally {
+      coreBudget.release(nOfRunCores);
+      //runs which could not be instantiated or completed count as done and are not left claimed
+      if (!completed) {
+        doneCounter.incrementAndGet();
+        if (workQueue != null) {
+          workQueue.failed(item);
+        }
+      }
     }
-    factory.shutdown();
   }
 
 }
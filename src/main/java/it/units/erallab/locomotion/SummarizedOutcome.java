@@ -0,0 +1,197 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.Grid;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.TreeMap;
+
+/**
+ * An {@link Outcome} which keeps only the scalar metrics and the average posture of an episode and no observations.
+ * Metrics which are computed from observations (e.g., spectra) are not available on instances of this class; the
+ * optional {@link Trajectory} keeps the center and terrain columns, e.g., for plots.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class SummarizedOutcome extends Outcome {
+
+  public static final int POSTURE_SIZE = 8;
+
+  private final double computationTime;
+  private final double distance;
+  private final double velocity;
+  private final double correctedEfficiency;
+  private final double areaRatioPower;
+  private final double controlPower;
+  private final Grid<Boolean> averagePosture;
+  private final Trajectory trajectory;
+
+  public SummarizedOutcome(
+      double computationTime,
+      double distance,
+      double velocity,
+      double correctedEfficiency,
+      double areaRatioPower,
+      double controlPower,
+      Grid<Boolean> averagePosture
+  ) {
+    this(
+        computationTime,
+        distance,
+        velocity,
+        correctedEfficiency,
+        areaRatioPower,
+        controlPower,
+        averagePosture,
+        null
+    );
+  }
+
+  public SummarizedOutcome(
+      double computationTime,
+      double distance,
+      double velocity,
+      double correctedEfficiency,
+      double areaRatioPower,
+      double controlPower,
+      Grid<Boolean> averagePosture,
+      Trajectory trajectory
+  ) {
+    super(new TreeMap<>());
+    this.computationTime = computationTime;
+    this.distance = distance;
+    this.velocity = velocity;
+    this.correctedEfficiency = correctedEfficiency;
+    this.areaRatioPower = areaRatioPower;
+    this.controlPower = controlPower;
+    this.averagePosture = averagePosture;
+    this.trajectory = trajectory;
+  }
+
+  public static SummarizedOutcome of(Outcome outcome) {
+    if (outcome instanceof SummarizedOutcome summarizedOutcome) {
+      return summarizedOutcome;
+    }
+    return new SummarizedOutcome(
+        outcome.getComputationTime(),
+        outcome.getDistance(),
+        outcome.getVelocity(),
+        outcome.getCorrectedEfficiency(),
+        outcome.getAreaRatioPower(),
+        outcome.getControlPower(),
+        outcome.getAveragePosture(POSTURE_SIZE)
+    );
+  }
+
+  public static SummarizedOutcome withTrajectory(Outcome outcome) {
+    if (outcome instanceof SummarizedOutcome summarizedOutcome && summarizedOutcome.getTrajectory() != null) {
+      return summarizedOutcome;
+    }
+    return new SummarizedOutcome(
+        outcome.getComputationTime(),
+        outcome.getDistance(),
+        outcome.getVelocity(),
+        outcome.getCorrectedEfficiency(),
+        outcome.getAreaRatioPower(),
+        outcome.getControlPower(),
+        outcome.getAveragePosture(POSTURE_SIZE),
+        Trajectory.of(outcome)
+    );
+  }
+
+  public static SummarizedOutcome read(DataInput input) throws IOException {
+    double computationTime = input.readDouble();
+    double distance = input.readDouble();
+    double velocity = input.readDouble();
+    double correctedEfficiency = input.readDouble();
+    double areaRatioPower = input.readDouble();
+    double controlPower = input.readDouble();
+    long postureBits = input.readLong();
+    return new SummarizedOutcome(
+        computationTime,
+        distance,
+        velocity,
+        correctedEfficiency,
+        areaRatioPower,
+        controlPower,
+        Grid.create(POSTURE_SIZE, POSTURE_SIZE, (x, y) -> (postureBits & (1L << (y * POSTURE_SIZE + x))) != 0)
+    );
+  }
+
+  @Override
+  public Grid<Boolean> getAveragePosture(int n) {
+    if (n != POSTURE_SIZE) {
+      throw new IllegalArgumentException(String.format(
+          "Average posture is summarized with size %d, %d requested",
+          POSTURE_SIZE,
+          n
+      ));
+    }
+    return averagePosture;
+  }
+
+  @Override
+  public double getAreaRatioPower() {
+    return areaRatioPower;
+  }
+
+  @Override
+  public double getComputationTime() {
+    return computationTime;
+  }
+
+  @Override
+  public double getControlPower() {
+    return controlPower;
+  }
+
+  @Override
+  public double getCorrectedEfficiency() {
+    return correctedEfficiency;
+  }
+
+  @Override
+  public double getDistance() {
+    return distance;
+  }
+
+  @Override
+  public double getVelocity() {
+    return velocity;
+  }
+
+  public Trajectory getTrajectory() {
+    return trajectory;
+  }
+
+  @Override
+  public Outcome subOutcome(double startT, double endT) {
+    // summaries are built on the already trimmed outcome
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SummarizedOutcome{velocity=%.3f, distance=%.3f}", velocity, distance);
+  }
+
+  public void write(DataOutput output) throws IOException {
+    output.writeDouble(computationTime);
+    output.writeDouble(distance);
+    output.writeDouble(velocity);
+    output.writeDouble(correctedEfficiency);
+    output.writeDouble(areaRatioPower);
+    output.writeDouble(controlPower);
+    long postureBits = 0;
+    for (int x = 0; x < POSTURE_SIZE; x++) {
+      for (int y = 0; y < POSTURE_SIZE; y++) {
+        if (Boolean.TRUE.equals(averagePosture.get(x, y))) {
+          postureBits = postureBits | (1L << (y * POSTURE_SIZE + x));
+        }
+      }
+    }
+    output.writeLong(postureBits);
+  }
+}
@@ -0,0 +1,111 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.core.objects.Robot;
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.util.LRUCache;
+import it.units.malelab.jgea.core.listener.Listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Evaluates robots with a given task and replaces the outcome with a {@link SummarizedOutcome}, which drops the
+ * observations and keeps only a compact {@link Trajectory}, unless the robot is the best one evaluated in the current
+ * iteration of the solver. Iterations are delimited by the listener returned by {@link #observing(Listener)}: since the
+ * best individual of a population is, unless it survived from an iteration where it was not the best, the best one of
+ * the iteration in which it was evaluated, listeners which look at the best individual find its full outcome, also for
+ * non-elitist solvers. If a cache is given, it is used here and it stores only summarized outcomes: a robot whose
+ * outcome comes from the cache is always summarized. Fitness is meant to be maximized.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class SummarizingLocomotion implements Function<Robot, Outcome> {
+
+  private final Function<Robot, Outcome> task;
+  private final Function<Outcome, Double> fitnessFunction;
+  private final LRUCache<String, Outcome> cache;
+  private final Function<Robot, String> keyFunction;
+  private final ThreadLocal<Outcome> fullOutcome;
+  private final AtomicLong nOfSummarized;
+  private final AtomicLong nOfKept;
+  private double bestFitness;
+
+  public SummarizingLocomotion(Function<Robot, Outcome> task, Function<Outcome, Double> fitnessFunction) {
+    this(task, fitnessFunction, null, null);
+  }
+
+  public SummarizingLocomotion(
+      Function<Robot, Outcome> task,
+      Function<Outcome, Double> fitnessFunction,
+      LRUCache<String, Outcome> cache,
+      Function<Robot, String> keyFunction
+  ) {
+    this.task = task;
+    this.fitnessFunction = fitnessFunction;
+    this.cache = cache;
+    this.keyFunction = keyFunction;
+    fullOutcome = new ThreadLocal<>();
+    nOfSummarized = new AtomicLong();
+    nOfKept = new AtomicLong();
+    bestFitness = Double.NEGATIVE_INFINITY;
+  }
+
+  @Override
+  public Outcome apply(Robot robot) {
+    Outcome outcome;
+    Outcome summarizedOutcome = null;
+    if (cache == null) {
+      outcome = task.apply(robot);
+    } else {
+      //the full outcome is handed over only to the thread which computed it
+      summarizedOutcome = cache.get(keyFunction.apply(robot), () -> {
+        Outcome computedOutcome = task.apply(robot);
+        fullOutcome.set(computedOutcome);
+        return SummarizedOutcome.withTrajectory(computedOutcome);
+      });
+      outcome = fullOutcome.get();
+      fullOutcome.remove();
+      if (outcome == null) {
+        nOfSummarized.incrementAndGet();
+        return summarizedOutcome;
+      }
+    }
+    if (outcome instanceof DominatedOutcome) {
+      //cannot be the best one, and it is already summarized
+      nOfSummarized.incrementAndGet();
+      return outcome;
+    }
+    double fitness = fitnessFunction.apply(outcome);
+    synchronized (this) {
+      if (fitness > bestFitness) {
+        bestFitness = fitness;
+        nOfKept.incrementAndGet();
+        return outcome;
+      }
+    }
+    nOfSummarized.incrementAndGet();
+    return summarizedOutcome == null ? SummarizedOutcome.withTrajectory(outcome) : summarizedOutcome;
+  }
+
+  public <E> Listener<E> observing(Listener<? super E> listener) {
+    return new Listener<>() {
+      @Override
+      public void listen(E e) {
+        synchronized (SummarizingLocomotion.this) {
+          bestFitness = Double.NEGATIVE_INFINITY;
+        }
+        listener.listen(e);
+      }
+
+      @Override
+      public void done() {
+        listener.done();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d outcomes summarized, %d kept in full", nOfSummarized.get(), nOfKept.get());
+  }
+}
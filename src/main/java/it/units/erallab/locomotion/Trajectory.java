@@ -0,0 +1,132 @@
+package it.units.erallab.locomotion;
+
+import it.units.erallab.hmsrobots.behavior.BehaviorUtils;
+import it.units.erallab.hmsrobots.core.snapshots.VoxelPoly;
+import it.units.erallab.hmsrobots.tasks.locomotion.Outcome;
+import it.units.erallab.hmsrobots.util.Grid;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * A compact, columnar view of the observations of an {@link Outcome}: one {@code double[]} for each of time, center
+ * position, center angle, and terrain height, and one {@link BitSet} for each voxel telling at which steps the voxel
+ * touches the ground. It is built with a single pass on the observations and then used, e.g., for plots, without
+ * traversing the observations again; it is also what a {@link SummarizedOutcome} keeps of the observations.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class Trajectory {
+
+  private final double[] ts;
+  private final double[] xs;
+  private final double[] ys;
+  private final double[] angles;
+  private final double[] terrainHeights;
+  private final int w;
+  private final int h;
+  private final BitSet[] footprints;
+
+  private Trajectory(
+      double[] ts,
+      double[] xs,
+      double[] ys,
+      double[] angles,
+      double[] terrainHeights,
+      int w,
+      int h,
+      BitSet[] footprints
+  ) {
+    this.ts = ts;
+    this.xs = xs;
+    this.ys = ys;
+    this.angles = angles;
+    this.terrainHeights = terrainHeights;
+    this.w = w;
+    this.h = h;
+    this.footprints = footprints;
+  }
+
+  public static Trajectory of(Outcome outcome) {
+    if (outcome instanceof SummarizedOutcome summarizedOutcome && summarizedOutcome.getTrajectory() != null) {
+      return summarizedOutcome.getTrajectory();
+    }
+    int n = outcome.getObservations().size();
+    double[] ts = new double[n];
+    double[] xs = new double[n];
+    double[] ys = new double[n];
+    double[] angles = new double[n];
+    double[] terrainHeights = new double[n];
+    int w = 0;
+    int h = 0;
+    BitSet[] footprints = new BitSet[0];
+    int k = 0;
+    for (Map.Entry<Double, Outcome.Observation> entry : outcome.getObservations().entrySet()) {
+      Grid<? extends VoxelPoly> polies = entry.getValue().voxelPolies();
+      if (k == 0) {
+        w = polies.getW();
+        h = polies.getH();
+        footprints = new BitSet[w * h];
+        for (int i = 0; i < footprints.length; i++) {
+          footprints[i] = new BitSet(n);
+        }
+      }
+      VoxelPoly center = BehaviorUtils.getCentralElement(polies);
+      ts[k] = entry.getKey();
+      xs[k] = center.center().x();
+      ys[k] = center.center().y();
+      angles[k] = center.getAngle();
+      terrainHeights[k] = entry.getValue().terrainHeight();
+      for (int x = 0; x < w; x++) {
+        for (int y = 0; y < h; y++) {
+          VoxelPoly poly = polies.get(x, y);
+          if (poly != null && poly.isTouchingGround()) {
+            footprints[x * h + y].set(k);
+          }
+        }
+      }
+      k = k + 1;
+    }
+    return new Trajectory(ts, xs, ys, angles, terrainHeights, w, h, footprints);
+  }
+
+  public double[] getAngles() {
+    return angles;
+  }
+
+  public BitSet getFootprint(int x, int y) {
+    return footprints[x * h + y];
+  }
+
+  public int getH() {
+    return h;
+  }
+
+  public double[] getTerrainHeights() {
+    return terrainHeights;
+  }
+
+  public double[] getTs() {
+    return ts;
+  }
+
+  public int getW() {
+    return w;
+  }
+
+  public double[] getXs() {
+    return xs;
+  }
+
+  public double[] getYs() {
+    return ys;
+  }
+
+  public boolean isEmpty() {
+    return ts.length == 0;
+  }
+
+  public int size() {
+    return ts.length;
+  }
+}
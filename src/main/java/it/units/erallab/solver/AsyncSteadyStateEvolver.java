@@ -0,0 +1,191 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.Factory;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.operator.GeneticOperator;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.order.PartialComparator;
+import it.units.malelab.jgea.core.selector.Selector;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+import it.units.malelab.jgea.core.util.Misc;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * An asynchronous steady-state evolutionary algorithm: a fixed number of offspring is always being evaluated and, as
+ * soon as one evaluation completes, the new individual replaces the worst one in the population and a new offspring
+ * is bred and submitted. There is hence no generational barrier waiting for the slowest evaluation. An iteration
+ * corresponds to the completion of as many evaluations as the population size. The partially ordered population is
+ * rebuilt once per iteration: within an iteration, parents are selected from the population of the previous one.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class AsyncSteadyStateEvolver<G, S, Q> implements IterativeSolver<AsyncSteadyStateEvolver.State<G, S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private final Function<? super G, ? extends S> solutionMapper;
+  private final Factory<? extends G> genotypeFactory;
+  private final int populationSize;
+  private final Predicate<? super State<G, S, Q>> stopCondition;
+  private final Map<GeneticOperator<G>, Double> operators;
+  private final Selector<? super Individual<? super G, ? super S, ? super Q>> parentSelector;
+  private final int nOfInFlightEvaluations;
+
+  public AsyncSteadyStateEvolver(
+      Function<? super G, ? extends S> solutionMapper,
+      Factory<? extends G> genotypeFactory,
+      int populationSize,
+      Predicate<? super State<G, S, Q>> stopCondition,
+      Map<GeneticOperator<G>, Double> operators,
+      Selector<? super Individual<? super G, ? super S, ? super Q>> parentSelector,
+      int nOfInFlightEvaluations
+  ) {
+    this.solutionMapper = solutionMapper;
+    this.genotypeFactory = genotypeFactory;
+    this.populationSize = populationSize;
+    this.stopCondition = stopCondition;
+    this.operators = operators;
+    this.parentSelector = parentSelector;
+    this.nOfInFlightEvaluations = nOfInFlightEvaluations;
+  }
+
+  public static class State<G, S, Q> extends POSetPopulationState<G, S, Q> {
+    private final List<Individual<G, S, Q>> individuals;
+    private final CompletionService<Individual<G, S, Q>> completionService;
+    private final Set<Future<Individual<G, S, Q>>> inFlight;
+
+    public State(ExecutorService executor) {
+      individuals = new ArrayList<>();
+      completionService = new ExecutorCompletionService<>(executor);
+      inFlight = new HashSet<>();
+    }
+
+    private State(POSetPopulationState<G, S, Q> copy, List<Individual<G, S, Q>> individuals) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      this.individuals = individuals;
+      completionService = null;
+      inFlight = Set.of();
+    }
+
+    @Override
+    public State<G, S, Q> immutableCopy() {
+      //the evaluations in flight are not of interest for listeners
+      return new State<>(super.immutableCopy(), List.copyOf(individuals));
+    }
+  }
+
+  private static <G, S, Q> PartialComparator<Individual<G, S, Q>> comparator(
+      TotalOrderQualityBasedProblem<S, Q> problem
+  ) {
+    return (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness());
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<G, S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    State<G, S, Q> state = new State<>(executor);
+    for (G genotype : genotypeFactory.build(populationSize, random)) {
+      submit(problem, state, genotype);
+    }
+    //the initial population is complete when all its individuals have been evaluated
+    for (int i = 0; i < populationSize; i++) {
+      state.individuals.add(take(state));
+    }
+    state.incNOfBirths(populationSize);
+    state.incNOfFitnessEvaluations(populationSize);
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(state.individuals, comparator(problem)));
+    for (int i = 0; i < nOfInFlightEvaluations; i++) {
+      submit(problem, state, breed(state, random));
+    }
+    return state;
+  }
+
+  private G breed(State<G, S, Q> state, RandomGenerator random) {
+    GeneticOperator<G> operator = Misc.pickRandomly(operators, random);
+    List<G> parents = new ArrayList<>(operator.arity());
+    for (int j = 0; j < operator.arity(); j++) {
+      parents.add(parentSelector.select(state.getPopulation(), random).genotype());
+    }
+    return operator.apply(parents, random).get(0);
+  }
+
+  private void submit(TotalOrderQualityBasedProblem<S, Q> problem, State<G, S, Q> state, G genotype) {
+    long iteration = state.getNOfIterations();
+    state.inFlight.add(state.completionService.submit(() -> {
+      S solution = solutionMapper.apply(genotype);
+      return new Individual<>(genotype, solution, problem.qualityFunction().apply(solution), iteration, iteration);
+    }));
+  }
+
+  private Individual<G, S, Q> take(State<G, S, Q> state) throws SolverException {
+    try {
+      Future<Individual<G, S, Q>> future = state.completionService.take();
+      state.inFlight.remove(future);
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) {
+    if (stopCondition.test(state)) {
+      state.inFlight.forEach(f -> f.cancel(true));
+      state.inFlight.clear();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) throws SolverException {
+    Comparator<Individual<G, S, Q>> worstLast = (i1, i2) -> problem.totalOrderComparator()
+        .compare(i1.fitness(), i2.fitness());
+    for (int i = 0; i < populationSize && !stopCondition.test(state); i++) {
+      Individual<G, S, Q> offspring = take(state);
+      state.incNOfBirths(1);
+      state.incNOfFitnessEvaluations(1);
+      //replace the worst individual
+      state.individuals.add(offspring);
+      state.individuals.remove(Collections.max(state.individuals, worstLast));
+      submit(problem, state, breed(state, random));
+    }
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(new ArrayList<>(state.individuals), comparator(problem)));
+    state.incNOfIterations();
+  }
+}
@@ -0,0 +1,224 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SimpleEvolutionaryStrategy;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.StandardEvolver;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link IterativeSolver} which delegates to an inner solver and periodically saves a checkpoint of its state to a
+ * file: the genotypes of the population, the counters, and the random generator. When resuming, the inner solver is
+ * initialized as usual and then its population is replaced with the checkpointed genotypes, which are mapped and
+ * evaluated again, and its counters are restored. Since the inner solver cannot be initialized from given genotypes,
+ * the evaluations of its initial population are wasted: they are counted, together with the ones of the checkpointed
+ * genotypes, as fitness evaluations. Genotypes and the random generator have to be {@link Serializable}: this is
+ * checked on the initial population, not to fail at the first checkpoint.
+ * <p>
+ * Only solvers whose state is fully determined by the population and the counters can be resumed, i.e.,
+ * {@link StandardEvolver} (not its subclasses, which may keep state elsewhere, e.g., in the speciator) and
+ * {@link SimpleEvolutionaryStrategy}, which recomputes its mean from the population: other solvers (e.g., CMA-ES,
+ * MAP-Elites, island or steady-state solvers) keep state which would be silently reset, hence they are rejected.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class CheckpointingSolver<S, Q> implements IterativeSolver<POSetPopulationState<Object, S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private static final Logger L = Logger.getLogger(CheckpointingSolver.class.getName());
+
+  private final IterativeSolver<POSetPopulationState<Object, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S> inner;
+  private final Function<Object, S> solutionMapper;
+  private final File file;
+  private final int nOfIterationsBetweenCheckpoints;
+  private final boolean resume;
+  private RandomGenerator restoredRandom;
+
+  private record Checkpoint(
+      long nOfIterations,
+      long nOfBirths,
+      long nOfFitnessEvaluations,
+      List<Object> genotypes,
+      RandomGenerator random
+  ) implements Serializable {}
+
+  @SuppressWarnings("unchecked")
+  public CheckpointingSolver(
+      IterativeSolver<? extends POSetPopulationState<?, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S> inner,
+      Function<?, S> solutionMapper,
+      File file,
+      int nOfIterationsBetweenCheckpoints,
+      boolean resume
+  ) {
+    if (!isResumable(inner)) {
+      throw new IllegalArgumentException(String.format(
+          "Cannot checkpoint %s: its state is not only population and counters",
+          inner.getClass().getSimpleName()
+      ));
+    }
+    this.inner = (IterativeSolver<POSetPopulationState<Object, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S>) inner;
+    this.solutionMapper = (Function<Object, S>) solutionMapper;
+    this.file = file;
+    this.nOfIterationsBetweenCheckpoints = nOfIterationsBetweenCheckpoints;
+    this.resume = resume;
+  }
+
+  public static boolean isResumable(IterativeSolver<?, ?, ?> solver) {
+    return solver.getClass().equals(StandardEvolver.class) ||
+        solver.getClass().equals(SimpleEvolutionaryStrategy.class);
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      POSetPopulationState<Object, S, Q> state
+  ) throws SolverException {
+    return inner.extractSolutions(problem, random(random), executor, state);
+  }
+
+  @Override
+  public POSetPopulationState<Object, S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    POSetPopulationState<Object, S, Q> state = inner.init(problem, random, executor);
+    try (ObjectOutputStream oos = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+      oos.writeObject(checkpoint(state, random));
+    } catch (IOException e) {
+      throw new SolverException(e);
+    }
+    if (!resume || !file.exists()) {
+      return state;
+    }
+    Checkpoint checkpoint;
+    try (ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(new FileInputStream(file)))) {
+      checkpoint = (Checkpoint) ois.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      L.warning(String.format("Cannot read checkpoint %s, starting from scratch: %s", file, e));
+      return state;
+    }
+    List<Callable<Individual<Object, S, Q>>> tasks = new ArrayList<>();
+    for (Object genotype : checkpoint.genotypes()) {
+      tasks.add(() -> {
+        S solution = solutionMapper.apply(genotype);
+        return new Individual<>(
+            genotype,
+            solution,
+            problem.qualityFunction().apply(solution),
+            checkpoint.nOfIterations(),
+            checkpoint.nOfIterations()
+        );
+      });
+    }
+    List<Individual<Object, S, Q>> individuals = new ArrayList<>();
+    try {
+      for (Future<Individual<Object, S, Q>> future : executor.invokeAll(tasks)) {
+        individuals.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        individuals,
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+    while (state.getNOfIterations() < checkpoint.nOfIterations()) {
+      state.incNOfIterations();
+    }
+    state.incNOfBirths(checkpoint.nOfBirths() - state.getNOfBirths());
+    //evaluations of the discarded initial population and of the checkpointed genotypes are actually done
+    state.incNOfFitnessEvaluations(checkpoint.nOfFitnessEvaluations() + individuals.size());
+    restoredRandom = checkpoint.random();
+    L.info(String.format(
+        "Resumed from checkpoint %s at iteration %d with %d individuals",
+        file,
+        checkpoint.nOfIterations(),
+        individuals.size()
+    ));
+    return state;
+  }
+
+  private RandomGenerator random(RandomGenerator random) {
+    return restoredRandom == null ? random : restoredRandom;
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      POSetPopulationState<Object, S, Q> state
+  ) throws SolverException {
+    return inner.terminate(problem, random(random), executor, state);
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      POSetPopulationState<Object, S, Q> state
+  ) throws SolverException {
+    inner.update(problem, random(random), executor, state);
+    if (state.getNOfIterations() % nOfIterationsBetweenCheckpoints == 0) {
+      write(state, random(random));
+    }
+  }
+
+  private Checkpoint checkpoint(POSetPopulationState<Object, S, Q> state, RandomGenerator random) {
+    return new Checkpoint(
+        state.getNOfIterations(),
+        state.getNOfBirths(),
+        state.getNOfFitnessEvaluations(),
+        new ArrayList<>(state.getPopulation().all().stream().map(Individual::genotype).toList()),
+        random
+    );
+  }
+
+  private void write(POSetPopulationState<Object, S, Q> state, RandomGenerator random) {
+    Checkpoint checkpoint = checkpoint(state, random);
+    File tmpFile = new File(file.getPath() + ".tmp");
+    try {
+      Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+    } catch (IOException e) {
+      L.warning(String.format("Cannot write checkpoint %s: %s", file, e));
+      return;
+    }
+    try (ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile)))) {
+      oos.writeObject(checkpoint);
+    } catch (IOException e) {
+      L.warning(String.format("Cannot write checkpoint %s: %s", file, e));
+      return;
+    }
+    try {
+      Files.move(
+          tmpFile.toPath(),
+          file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE
+      );
+    } catch (IOException e) {
+      L.warning(String.format("Cannot write checkpoint %s: %s", file, e));
+    }
+  }
+}
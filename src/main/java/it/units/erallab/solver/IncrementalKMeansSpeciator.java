@@ -0,0 +1,167 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.order.PartiallyOrderedCollection;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.speciation.SpeciatedEvolver;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * A k-means speciator which does not cluster from scratch at each generation: centroids are warm-started from the ones
+ * of the previous call and refined with a small, fixed number of Lloyd iterations, hence the cost per generation does
+ * not depend on how many iterations a clustering from scratch would need. Descriptors are copied in a contiguous
+ * {@code double[]} matrix and the assignment of individuals to centroids, which dominates the cost, is done in
+ * parallel chunks. Distance is Euclidean. An instance keeps state across calls: it has to be used by one solver only.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class IncrementalKMeansSpeciator<G, S, Q> implements SpeciatedEvolver.Speciator<Individual<G, S, Q>> {
+
+  private static final int CHUNK_SIZE = 64;
+
+  private final int k;
+  private final int nOfIterations;
+  private final Function<Individual<G, S, Q>, double[]> converter;
+  private final SplittableRandom random;
+  private double[] centroids;
+  private int nOfCentroids;
+  private int dimension;
+
+  public IncrementalKMeansSpeciator(int k, int nOfIterations, Function<Individual<G, S, Q>, double[]> converter) {
+    this.k = k;
+    this.nOfIterations = nOfIterations;
+    this.converter = converter;
+    random = new SplittableRandom(0);
+  }
+
+  private static double squaredDistance(double[] m1, int offset1, double[] m2, int offset2, int d) {
+    double distance = 0d;
+    for (int j = 0; j < d; j++) {
+      double diff = m1[offset1 + j] - m2[offset2 + j];
+      distance = distance + diff * diff;
+    }
+    return distance;
+  }
+
+  private int nearest(double[] matrix, int i) {
+    int best = 0;
+    double bestDistance = Double.POSITIVE_INFINITY;
+    for (int c = 0; c < nOfCentroids; c++) {
+      double distance = squaredDistance(matrix, i * dimension, centroids, c * dimension, dimension);
+      if (distance < bestDistance) {
+        bestDistance = distance;
+        best = c;
+      }
+    }
+    return best;
+  }
+
+  private void seed(double[] matrix, int m) {
+    //k-means++ seeding, used only at the first call or when the number of centroids has to change
+    nOfCentroids = Math.min(k, m);
+    centroids = new double[nOfCentroids * dimension];
+    double[] distances = new double[m];
+    Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    int chosen = random.nextInt(m);
+    for (int c = 0; c < nOfCentroids; c++) {
+      System.arraycopy(matrix, chosen * dimension, centroids, c * dimension, dimension);
+      double sum = 0d;
+      for (int i = 0; i < m; i++) {
+        distances[i] = Math.min(
+            distances[i],
+            squaredDistance(matrix, i * dimension, centroids, c * dimension, dimension)
+        );
+        sum = sum + distances[i];
+      }
+      double threshold = random.nextDouble() * sum;
+      chosen = m - 1;
+      for (int i = 0; i < m; i++) {
+        threshold = threshold - distances[i];
+        if (threshold <= 0d) {
+          chosen = i;
+          break;
+        }
+      }
+    }
+  }
+
+  @Override
+  public Collection<SpeciatedEvolver.Species<Individual<G, S, Q>>> speciate(
+      PartiallyOrderedCollection<Individual<G, S, Q>> population
+  ) {
+    List<Individual<G, S, Q>> individuals = new ArrayList<>(population.all());
+    int m = individuals.size();
+    if (m == 0) {
+      return List.of();
+    }
+    //descriptor matrix
+    List<double[]> descriptors = individuals.parallelStream().map(converter).toList();
+    int d = descriptors.get(0).length;
+    double[] matrix = new double[m * d];
+    for (int i = 0; i < m; i++) {
+      System.arraycopy(descriptors.get(i), 0, matrix, i * d, d);
+    }
+    if (centroids == null || dimension != d || nOfCentroids > m || (nOfCentroids < k && nOfCentroids < m)) {
+      dimension = d;
+      seed(matrix, m);
+    }
+    //lloyd iterations, from the previous centroids
+    int[] assignments = new int[m];
+    int nOfChunks = (m + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    for (int iteration = 0; iteration < Math.max(1, nOfIterations); iteration++) {
+      IntStream.range(0, nOfChunks).parallel().forEach(chunk -> {
+        for (int i = chunk * CHUNK_SIZE; i < Math.min(m, (chunk + 1) * CHUNK_SIZE); i++) {
+          assignments[i] = nearest(matrix, i);
+        }
+      });
+      double[] sums = new double[nOfCentroids * d];
+      int[] counts = new int[nOfCentroids];
+      for (int i = 0; i < m; i++) {
+        int c = assignments[i];
+        counts[c] = counts[c] + 1;
+        for (int j = 0; j < d; j++) {
+          sums[c * d + j] = sums[c * d + j] + matrix[i * d + j];
+        }
+      }
+      for (int c = 0; c < nOfCentroids; c++) {
+        //empty clusters keep their centroid
+        if (counts[c] > 0) {
+          for (int j = 0; j < d; j++) {
+            centroids[c * d + j] = sums[c * d + j] / counts[c];
+          }
+        }
+      }
+    }
+    //final assignment and representatives, i.e., the individuals closest to centroids
+    IntStream.range(0, nOfChunks).parallel().forEach(chunk -> {
+      for (int i = chunk * CHUNK_SIZE; i < Math.min(m, (chunk + 1) * CHUNK_SIZE); i++) {
+        assignments[i] = nearest(matrix, i);
+      }
+    });
+    List<List<Individual<G, S, Q>>> elements = new ArrayList<>(nOfCentroids);
+    int[] representatives = new int[nOfCentroids];
+    double[] representativeDistances = new double[nOfCentroids];
+    Arrays.fill(representativeDistances, Double.POSITIVE_INFINITY);
+    for (int c = 0; c < nOfCentroids; c++) {
+      elements.add(new ArrayList<>());
+    }
+    for (int i = 0; i < m; i++) {
+      int c = assignments[i];
+      elements.get(c).add(individuals.get(i));
+      double distance = squaredDistance(matrix, i * d, centroids, c * d, d);
+      if (distance < representativeDistances[c]) {
+        representativeDistances[c] = distance;
+        representatives[c] = i;
+      }
+    }
+    List<SpeciatedEvolver.Species<Individual<G, S, Q>>> species = new ArrayList<>(nOfCentroids);
+    for (int c = 0; c < nOfCentroids; c++) {
+      if (!elements.get(c).isEmpty()) {
+        species.add(new SpeciatedEvolver.Species<>(elements.get(c), individuals.get(representatives[c])));
+      }
+    }
+    return species;
+  }
+}
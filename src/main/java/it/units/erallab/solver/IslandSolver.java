@@ -0,0 +1,346 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.order.PartialComparator;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * An island model: several inner solvers (the islands) evolve their populations in parallel, each on its own thread,
+ * and every given number of iterations the best individuals of each island migrate to the next island in a ring,
+ * replacing the worst ones. Optionally, islands running in other processes take part in the migration through a
+ * shared directory: each process periodically writes the genotypes of its best individuals to its own file and reads
+ * the files written by the other processes for the same run since the last migration; immigrant genotypes are
+ * evaluated again and injected in a random island. Files are named after the run id and the node id; each file
+ * carries a sequence number, incremented at each write, so that each batch of migrants is received once. Genotypes
+ * exchanged through files have to be {@link Serializable}.
+ * <p>
+ * The state exposes the union of the island populations and the overall counters; an iteration is an iteration of
+ * all the islands.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class IslandSolver<G, S, Q> implements IterativeSolver<IslandSolver.State<G, S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private static final Logger L = Logger.getLogger(IslandSolver.class.getName());
+
+  private static final String MIGRANTS_EXTENSION = ".migrants";
+
+  private final List<IterativeSolver<POSetPopulationState<G, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S>> islands;
+  private final Function<? super G, ? extends S> solutionMapper;
+  private final int nOfIterationsBetweenMigrations;
+  private final int nOfMigrants;
+  private final File migrationDir;
+  private final String runId;
+  private final String nodeId;
+
+  @SuppressWarnings("unchecked")
+  public IslandSolver(
+      List<? extends IterativeSolver<? extends POSetPopulationState<G, S, Q>, TotalOrderQualityBasedProblem<S, Q>,
+          S>> islands,
+      Function<? super G, ? extends S> solutionMapper,
+      int nOfIterationsBetweenMigrations,
+      int nOfMigrants,
+      File migrationDir,
+      String runId,
+      String nodeId
+  ) {
+    this.islands = islands.stream()
+        .map(i -> (IterativeSolver<POSetPopulationState<G, S, Q>, TotalOrderQualityBasedProblem<S, Q>, S>) i)
+        .toList();
+    this.solutionMapper = solutionMapper;
+    this.nOfIterationsBetweenMigrations = nOfIterationsBetweenMigrations;
+    this.nOfMigrants = nOfMigrants;
+    this.migrationDir = migrationDir;
+    this.runId = runId;
+    this.nodeId = nodeId;
+  }
+
+  public static class State<G, S, Q> extends POSetPopulationState<G, S, Q> {
+    private final List<POSetPopulationState<G, S, Q>> states;
+    private final List<RandomGenerator> randoms;
+    private final boolean[] terminated;
+    private final ExecutorService islandsExecutor;
+    private final Map<File, Long> readMigrantSequences;
+    private long migrantSequence;
+
+    private State(int nOfIslands) {
+      states = new ArrayList<>(nOfIslands);
+      randoms = new ArrayList<>(nOfIslands);
+      terminated = new boolean[nOfIslands];
+      islandsExecutor = Executors.newFixedThreadPool(nOfIslands, r -> {
+        Thread thread = new Thread(r, "island");
+        thread.setDaemon(true);
+        return thread;
+      });
+      readMigrantSequences = new HashMap<>();
+    }
+
+    private State(POSetPopulationState<G, S, Q> copy, State<G, S, Q> state) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      states = state.states.stream().map(POSetPopulationState::immutableCopy).toList();
+      randoms = List.of();
+      terminated = state.terminated.clone();
+      islandsExecutor = null;
+      readMigrantSequences = Map.of();
+      migrantSequence = state.migrantSequence;
+    }
+
+    @Override
+    public State<G, S, Q> immutableCopy() {
+      //the island states, but not the machinery to evolve them
+      return new State<>(super.immutableCopy(), this);
+    }
+  }
+
+  private static <G, S, Q> PartialComparator<Individual<G, S, Q>> comparator(
+      TotalOrderQualityBasedProblem<S, Q> problem
+  ) {
+    return (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness());
+  }
+
+  private static <G, S, Q> List<Individual<G, S, Q>> sorted(
+      TotalOrderQualityBasedProblem<S, Q> problem, POSetPopulationState<G, S, Q> state
+  ) {
+    List<Individual<G, S, Q>> individuals = new ArrayList<>(state.getPopulation().all());
+    individuals.sort((i1, i2) -> problem.totalOrderComparator().compare(i1.fitness(), i2.fitness()));
+    return individuals;
+  }
+
+  private static <G, S, Q> void replaceWorst(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      POSetPopulationState<G, S, Q> state,
+      List<Individual<G, S, Q>> immigrants
+  ) {
+    List<Individual<G, S, Q>> individuals = sorted(problem, state);
+    individuals = new ArrayList<>(individuals.subList(
+        0,
+        Math.max(0, individuals.size() - immigrants.size())
+    ));
+    individuals.addAll(immigrants);
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(individuals, comparator(problem)));
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<G, S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    State<G, S, Q> state = new State<>(islands.size());
+    for (int i = 0; i < islands.size(); i++) {
+      state.randoms.add(new SplittableRandom(random.nextLong()));
+    }
+    List<Callable<POSetPopulationState<G, S, Q>>> tasks = new ArrayList<>();
+    for (int i = 0; i < islands.size(); i++) {
+      int islandIndex = i;
+      tasks.add(() -> islands.get(islandIndex).init(problem, state.randoms.get(islandIndex), executor));
+    }
+    state.states.addAll(invokeAll(state, tasks));
+    merge(problem, state);
+    return state;
+  }
+
+  private <T> List<T> invokeAll(State<G, S, Q> state, List<Callable<T>> tasks) throws SolverException {
+    List<T> results = new ArrayList<>();
+    try {
+      for (Future<T> future : state.islandsExecutor.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      state.islandsExecutor.shutdownNow();
+      throw new SolverException(e);
+    }
+    return results;
+  }
+
+  private void merge(TotalOrderQualityBasedProblem<S, Q> problem, State<G, S, Q> state) {
+    List<Individual<G, S, Q>> individuals = new ArrayList<>();
+    long nOfBirths = 0;
+    long nOfFitnessEvaluations = 0;
+    for (POSetPopulationState<G, S, Q> islandState : state.states) {
+      individuals.addAll(islandState.getPopulation().all());
+      nOfBirths = nOfBirths + islandState.getNOfBirths();
+      nOfFitnessEvaluations = nOfFitnessEvaluations + islandState.getNOfFitnessEvaluations();
+    }
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(individuals, comparator(problem)));
+    state.incNOfBirths(nOfBirths - state.getNOfBirths());
+    state.incNOfFitnessEvaluations(nOfFitnessEvaluations - state.getNOfFitnessEvaluations());
+  }
+
+  private void migrate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) throws SolverException {
+    //in-process migration along the ring
+    List<List<Individual<G, S, Q>>> emigrants = new ArrayList<>();
+    for (POSetPopulationState<G, S, Q> islandState : state.states) {
+      List<Individual<G, S, Q>> individuals = sorted(problem, islandState);
+      emigrants.add(new ArrayList<>(individuals.subList(0, Math.min(nOfMigrants, individuals.size()))));
+    }
+    if (state.states.size() > 1) {
+      for (int i = 0; i < state.states.size(); i++) {
+        replaceWorst(problem, state.states.get((i + 1) % state.states.size()), emigrants.get(i));
+      }
+    }
+    if (migrationDir == null) {
+      return;
+    }
+    //inter-process migration through files
+    List<Individual<G, S, Q>> nodeEmigrants = new ArrayList<>(emigrants.stream().flatMap(List::stream).toList());
+    nodeEmigrants.sort((i1, i2) -> problem.totalOrderComparator().compare(i1.fitness(), i2.fitness()));
+    write(state, new ArrayList<>(nodeEmigrants.subList(0, Math.min(nOfMigrants, nodeEmigrants.size())).stream()
+        .map(Individual::genotype)
+        .toList()));
+    List<G> immigrantGenotypes = read(state);
+    if (immigrantGenotypes.isEmpty()) {
+      return;
+    }
+    long iteration = state.getNOfIterations();
+    List<Callable<Individual<G, S, Q>>> tasks = new ArrayList<>();
+    for (G genotype : immigrantGenotypes) {
+      tasks.add(() -> {
+        S solution = solutionMapper.apply(genotype);
+        return new Individual<>(genotype, solution, problem.qualityFunction().apply(solution), iteration, iteration);
+      });
+    }
+    List<Individual<G, S, Q>> immigrants = new ArrayList<>();
+    try {
+      for (Future<Individual<G, S, Q>> future : executor.invokeAll(tasks)) {
+        immigrants.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+    POSetPopulationState<G, S, Q> islandState = state.states.get(random.nextInt(state.states.size()));
+    islandState.incNOfFitnessEvaluations(immigrants.size());
+    replaceWorst(problem, islandState, immigrants);
+  }
+
+  private String fileNamePrefix() {
+    return runId + ".";
+  }
+
+  private void write(State<G, S, Q> state, ArrayList<G> genotypes) {
+    File file = new File(migrationDir, fileNamePrefix() + nodeId + MIGRANTS_EXTENSION);
+    File tmpFile = new File(migrationDir, fileNamePrefix() + nodeId + MIGRANTS_EXTENSION + ".tmp");
+    try {
+      Files.createDirectories(migrationDir.toPath());
+      state.migrantSequence = state.migrantSequence + 1;
+      try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(tmpFile))) {
+        oos.writeLong(state.migrantSequence);
+        oos.writeObject(genotypes);
+      }
+      Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      L.warning(String.format("Cannot write migrants to %s: %s", file, e));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<G> read(State<G, S, Q> state) {
+    File[] files = migrationDir.listFiles(
+        (dir, name) -> name.startsWith(fileNamePrefix()) && name.endsWith(MIGRANTS_EXTENSION) &&
+            !name.equals(fileNamePrefix() + nodeId + MIGRANTS_EXTENSION)
+    );
+    if (files == null) {
+      return List.of();
+    }
+    List<G> genotypes = new ArrayList<>();
+    for (File file : files) {
+      try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+        //only batches not read yet; a sequence which differs, rather than a greater one, covers restarted nodes
+        long sequence = ois.readLong();
+        if (Objects.equals(state.readMigrantSequences.get(file), sequence)) {
+          continue;
+        }
+        genotypes.addAll((List<G>) ois.readObject());
+        state.readMigrantSequences.put(file, sequence);
+      } catch (IOException | ClassNotFoundException e) {
+        L.warning(String.format("Cannot read migrants from %s: %s", file, e));
+      }
+    }
+    return genotypes;
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) throws SolverException {
+    for (int i = 0; i < islands.size(); i++) {
+      if (!state.terminated[i]) {
+        state.terminated[i] = islands.get(i).terminate(problem, state.randoms.get(i), executor, state.states.get(i));
+      }
+    }
+    for (boolean terminated : state.terminated) {
+      if (!terminated) {
+        return false;
+      }
+    }
+    state.islandsExecutor.shutdown();
+    return true;
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<G, S, Q> state
+  ) throws SolverException {
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+    for (int i = 0; i < islands.size(); i++) {
+      int islandIndex = i;
+      if (!state.terminated[islandIndex]) {
+        tasks.add(() -> {
+          islands.get(islandIndex).update(
+              problem,
+              state.randoms.get(islandIndex),
+              executor,
+              state.states.get(islandIndex)
+          );
+          return true;
+        });
+      }
+    }
+    invokeAll(state, tasks);
+    state.incNOfIterations();
+    if (state.getNOfIterations() % nOfIterationsBetweenMigrations == 0) {
+      migrate(problem, random, executor, state);
+    }
+    merge(problem, state);
+  }
+}
@@ -0,0 +1,255 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * MAP-Elites: an archive with a cell for each combination of bins of a descriptor of individuals keeps the best
+ * individual found for each cell. New individuals are Gaussian mutants of elites picked uniformly from the archive. The
+ * archive genotypes are stored in one flat {@code double[]}, so breeding does not touch boxed values. Evaluations are
+ * asynchronous: a fixed number of mutants is always being evaluated, and each completed evaluation is immediately
+ * inserted in the archive and replaced by a new mutant. An iteration corresponds to the completion of as many
+ * evaluations as the number of in-flight ones; the population is the set of elites.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class MapElitesSolver<S, Q> implements IterativeSolver<MapElitesSolver.State<S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private final Function<? super List<Double>, ? extends S> solutionMapper;
+  private final int n;
+  private final int nOfInFlightEvaluations;
+  private final Predicate<? super State<S, Q>> stopCondition;
+  private final double sigmaMut;
+  private final Function<Individual<List<Double>, S, Q>, double[]> descriptor;
+  private final double[] descriptorMins;
+  private final double[] descriptorMaxs;
+  private final int nOfBins;
+
+  public MapElitesSolver(
+      Function<? super List<Double>, ? extends S> solutionMapper,
+      int n,
+      int nOfInFlightEvaluations,
+      Predicate<? super State<S, Q>> stopCondition,
+      double sigmaMut,
+      Function<Individual<List<Double>, S, Q>, double[]> descriptor,
+      double[] descriptorMins,
+      double[] descriptorMaxs,
+      int nOfBins
+  ) {
+    this.solutionMapper = solutionMapper;
+    this.n = n;
+    this.nOfInFlightEvaluations = nOfInFlightEvaluations;
+    this.stopCondition = stopCondition;
+    this.sigmaMut = sigmaMut;
+    this.descriptor = descriptor;
+    this.descriptorMins = descriptorMins;
+    this.descriptorMaxs = descriptorMaxs;
+    this.nOfBins = nOfBins;
+  }
+
+  private record Evaluated<S, Q>(Individual<List<Double>, S, Q> individual, double[] genotype, int cell) {}
+
+  public static class State<S, Q> extends POSetPopulationState<List<Double>, S, Q> {
+    private final double[] genotypes;
+    private final Individual<List<Double>, S, Q>[] elites;
+    private final int[] filledCells;
+    private int nOfFilledCells;
+    private final CompletionService<Evaluated<S, Q>> completionService;
+    private final Set<Future<Evaluated<S, Q>>> inFlight;
+
+    @SuppressWarnings("unchecked")
+    private State(int nOfCells, int n, ExecutorService executor) {
+      genotypes = new double[nOfCells * n];
+      elites = (Individual<List<Double>, S, Q>[]) new Individual[nOfCells];
+      filledCells = new int[nOfCells];
+      completionService = new ExecutorCompletionService<>(executor);
+      inFlight = new HashSet<>();
+    }
+
+    private State(
+        POSetPopulationState<List<Double>, S, Q> copy,
+        Individual<List<Double>, S, Q>[] elites,
+        int[] filledCells,
+        int nOfFilledCells
+    ) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      genotypes = new double[0];
+      this.elites = elites;
+      this.filledCells = filledCells;
+      this.nOfFilledCells = nOfFilledCells;
+      completionService = null;
+      inFlight = Set.of();
+    }
+
+    public double getCoverage() {
+      return (double) nOfFilledCells / (double) elites.length;
+    }
+
+    @Override
+    public State<S, Q> immutableCopy() {
+      //the archive, but not the genotype buffer and the evaluations in flight
+      return new State<>(super.immutableCopy(), elites.clone(), filledCells.clone(), nOfFilledCells);
+    }
+  }
+
+  private int cell(double[] values) {
+    int cell = 0;
+    for (int d = 0; d < descriptorMins.length; d++) {
+      double normalized = (values[d] - descriptorMins[d]) / (descriptorMaxs[d] - descriptorMins[d]);
+      int bin = Math.max(0, Math.min(nOfBins - 1, (int) Math.floor(normalized * nOfBins)));
+      cell = cell * nOfBins + bin;
+    }
+    return cell;
+  }
+
+  private static List<Double> toList(double[] values) {
+    List<Double> list = new ArrayList<>(values.length);
+    for (double value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    int nOfCells = (int) Math.pow(nOfBins, descriptorMins.length);
+    State<S, Q> state = new State<>(nOfCells, n, executor);
+    for (int i = 0; i < nOfInFlightEvaluations; i++) {
+      double[] genotype = new double[n];
+      for (int j = 0; j < n; j++) {
+        genotype[j] = random.nextDouble() * 2d - 1d;
+      }
+      submit(problem, state, genotype);
+    }
+    //the archive is seeded by the first batch
+    for (int i = 0; i < nOfInFlightEvaluations; i++) {
+      insert(problem, state, take(state));
+    }
+    updatePopulation(problem, state);
+    for (int i = 0; i < nOfInFlightEvaluations; i++) {
+      submit(problem, state, mutant(state, random));
+    }
+    return state;
+  }
+
+  private void insert(TotalOrderQualityBasedProblem<S, Q> problem, State<S, Q> state, Evaluated<S, Q> evaluated) {
+    state.incNOfBirths(1);
+    state.incNOfFitnessEvaluations(1);
+    int cell = evaluated.cell();
+    Individual<List<Double>, S, Q> elite = state.elites[cell];
+    if (elite == null) {
+      state.filledCells[state.nOfFilledCells] = cell;
+      state.nOfFilledCells = state.nOfFilledCells + 1;
+    } else if (problem.totalOrderComparator().compare(evaluated.individual().fitness(), elite.fitness()) >= 0) {
+      return;
+    }
+    state.elites[cell] = evaluated.individual();
+    System.arraycopy(evaluated.genotype(), 0, state.genotypes, cell * n, n);
+  }
+
+  private double[] mutant(State<S, Q> state, RandomGenerator random) {
+    int cell = state.filledCells[random.nextInt(state.nOfFilledCells)];
+    double[] genotype = new double[n];
+    for (int j = 0; j < n; j++) {
+      genotype[j] = state.genotypes[cell * n + j] + sigmaMut * random.nextGaussian();
+    }
+    return genotype;
+  }
+
+  private void submit(TotalOrderQualityBasedProblem<S, Q> problem, State<S, Q> state, double[] genotype) {
+    long iteration = state.getNOfIterations();
+    state.inFlight.add(state.completionService.submit(() -> {
+      List<Double> listGenotype = toList(genotype);
+      S solution = solutionMapper.apply(listGenotype);
+      Individual<List<Double>, S, Q> individual = new Individual<>(
+          listGenotype,
+          solution,
+          problem.qualityFunction().apply(solution),
+          iteration,
+          iteration
+      );
+      return new Evaluated<>(individual, genotype, cell(descriptor.apply(individual)));
+    }));
+  }
+
+  private Evaluated<S, Q> take(State<S, Q> state) throws SolverException {
+    try {
+      Future<Evaluated<S, Q>> future = state.completionService.take();
+      state.inFlight.remove(future);
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+  }
+
+  private void updatePopulation(TotalOrderQualityBasedProblem<S, Q> problem, State<S, Q> state) {
+    List<Individual<List<Double>, S, Q>> elites = new ArrayList<>(state.nOfFilledCells);
+    for (int i = 0; i < state.nOfFilledCells; i++) {
+      elites.add(state.elites[state.filledCells[i]]);
+    }
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        elites,
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    if (stopCondition.test(state)) {
+      state.inFlight.forEach(f -> f.cancel(true));
+      state.inFlight.clear();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    for (int i = 0; i < nOfInFlightEvaluations && !stopCondition.test(state); i++) {
+      insert(problem, state, take(state));
+      submit(problem, state, mutant(state, random));
+    }
+    updatePopulation(problem, state);
+    state.incNOfIterations();
+  }
+}
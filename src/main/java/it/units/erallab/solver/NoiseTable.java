@@ -0,0 +1,39 @@
+package it.units.erallab.solver;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A large table of standard Gaussian noise, generated once from a seed and shared by all the solvers of the process
+ * asking for the same seed and size. A noise vector is identified by its offset in the table, hence it can be stored
+ * or transmitted as a single integer.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class NoiseTable {
+
+  private static final Map<String, NoiseTable> TABLES = new ConcurrentHashMap<>();
+
+  private final float[] noise;
+
+  private NoiseTable(long seed, int size) {
+    SplittableRandom random = new SplittableRandom(seed);
+    noise = new float[size];
+    for (int i = 0; i < size; i++) {
+      noise[i] = (float) random.nextGaussian();
+    }
+  }
+
+  public static NoiseTable get(long seed, int size) {
+    return TABLES.computeIfAbsent(seed + ":" + size, k -> new NoiseTable(seed, size));
+  }
+
+  public double get(int offset, int j) {
+    return noise[offset + j];
+  }
+
+  public int size() {
+    return noise.length;
+  }
+}
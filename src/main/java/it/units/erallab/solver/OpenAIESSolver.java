@@ -0,0 +1,264 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * The natural evolution strategy of Salimans et al. (2017, "Evolution Strategies as a Scalable Alternative to
+ * Reinforcement Learning"): offspring are sampled in mirrored pairs around the current mean, their fitness is shaped
+ * with centered ranks, and the mean follows the resulting gradient estimate with Adam and weight decay. Noise comes
+ * from a shared {@link NoiseTable}, so an offspring is fully described by the mean of its generation, an offset in the
+ * table, and a sign: its genotype is a read-only view computed on access, not a materialized list of boxed doubles.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class OpenAIESSolver<S, Q> implements IterativeSolver<OpenAIESSolver.State<S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private static final double BETA1 = 0.9d;
+  private static final double BETA2 = 0.999d;
+  private static final double EPSILON = 1e-8;
+
+  private final Function<? super List<Double>, ? extends S> solutionMapper;
+  private final int n;
+  private final int nOfPairs;
+  private final double sigma;
+  private final double learningRate;
+  private final double weightDecay;
+  private final double initialMeanRange;
+  private final NoiseTable noiseTable;
+  private final Predicate<? super State<S, Q>> stopCondition;
+
+  public OpenAIESSolver(
+      Function<? super List<Double>, ? extends S> solutionMapper,
+      int n,
+      int populationSize,
+      double sigma,
+      double learningRate,
+      double weightDecay,
+      double initialMeanRange,
+      NoiseTable noiseTable,
+      Predicate<? super State<S, Q>> stopCondition
+  ) {
+    if (noiseTable.size() < n) {
+      throw new IllegalArgumentException(String.format(
+          "Noise table too small: %d values for genotypes of size %d",
+          noiseTable.size(),
+          n
+      ));
+    }
+    this.solutionMapper = solutionMapper;
+    this.n = n;
+    this.nOfPairs = Math.max(1, populationSize / 2);
+    this.sigma = sigma;
+    this.learningRate = learningRate;
+    this.weightDecay = weightDecay;
+    this.initialMeanRange = initialMeanRange;
+    this.noiseTable = noiseTable;
+    this.stopCondition = stopCondition;
+  }
+
+  /**
+   * A genotype expressed as {@code mean + sign * sigma * noise[offset..offset+n]}. When serialized, it is replaced by
+   * a plain list, in order to not drag along the noise table.
+   */
+  private static class PerturbedGenotype extends AbstractList<Double> implements Serializable {
+    private final double[] mean;
+    private final NoiseTable noiseTable;
+    private final int offset;
+    private final double scale;
+
+    private PerturbedGenotype(double[] mean, NoiseTable noiseTable, int offset, double scale) {
+      this.mean = mean;
+      this.noiseTable = noiseTable;
+      this.offset = offset;
+      this.scale = scale;
+    }
+
+    @Override
+    public Double get(int j) {
+      return mean[j] + scale * noiseTable.get(offset, j);
+    }
+
+    @Override
+    public int size() {
+      return mean.length;
+    }
+
+    @Serial
+    private Object writeReplace() {
+      return new ArrayList<>(this);
+    }
+  }
+
+  public static class State<S, Q> extends POSetPopulationState<List<Double>, S, Q> {
+    private final double[] mean;
+    private final double[] m;
+    private final double[] v;
+    private final double[] gradient;
+    private final int[] offsets;
+    private List<Individual<List<Double>, S, Q>> individuals;
+
+    private State(int n, int nOfPairs) {
+      mean = new double[n];
+      m = new double[n];
+      v = new double[n];
+      gradient = new double[n];
+      offsets = new int[nOfPairs];
+    }
+
+    private State(POSetPopulationState<List<Double>, S, Q> copy, State<S, Q> state) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      mean = state.mean.clone();
+      m = state.m.clone();
+      v = state.v.clone();
+      gradient = new double[0];
+      offsets = new int[0];
+      individuals = state.individuals == null ? null : List.copyOf(state.individuals);
+    }
+
+    @Override
+    public State<S, Q> immutableCopy() {
+      //the mean and the optimizer moments, but not the sampling buffers
+      return new State<>(super.immutableCopy(), this);
+    }
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    State<S, Q> state = new State<>(n, nOfPairs);
+    for (int j = 0; j < n; j++) {
+      state.mean[j] = (random.nextDouble() * 2d - 1d) * initialMeanRange;
+    }
+    sampleAndEvaluate(problem, random, executor, state);
+    return state;
+  }
+
+  private void sampleAndEvaluate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    long iteration = state.getNOfIterations();
+    //offspring of this generation share a snapshot of the mean
+    double[] mean = Arrays.copyOf(state.mean, n);
+    List<Callable<Individual<List<Double>, S, Q>>> tasks = new ArrayList<>(2 * nOfPairs);
+    for (int i = 0; i < nOfPairs; i++) {
+      state.offsets[i] = random.nextInt(noiseTable.size() - n + 1);
+      //offspring 2i is the positive perturbation, 2i+1 the negative one
+      for (double scale : new double[]{sigma, -sigma}) {
+        List<Double> genotype = new PerturbedGenotype(mean, noiseTable, state.offsets[i], scale);
+        tasks.add(() -> {
+          S solution = solutionMapper.apply(genotype);
+          return new Individual<>(genotype, solution, problem.qualityFunction().apply(solution), iteration, iteration);
+        });
+      }
+    }
+    List<Individual<List<Double>, S, Q>> individuals = new ArrayList<>(2 * nOfPairs);
+    try {
+      for (Future<Individual<List<Double>, S, Q>> future : executor.invokeAll(tasks)) {
+        individuals.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+    state.incNOfBirths(individuals.size());
+    state.incNOfFitnessEvaluations(individuals.size());
+    state.individuals = individuals;
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        individuals,
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return stopCondition.test(state);
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    //centered ranks in [-0.5,0.5], the best getting the largest utility
+    List<Individual<List<Double>, S, Q>> individuals = state.individuals;
+    int size = individuals.size();
+    double[] utilities = new double[size];
+    int[] ranking = IntStream.range(0, size)
+        .boxed()
+        .sorted((k1, k2) -> problem.totalOrderComparator()
+            .compare(individuals.get(k1).fitness(), individuals.get(k2).fitness()))
+        .mapToInt(k -> k)
+        .toArray();
+    for (int r = 0; r < size; r++) {
+      utilities[ranking[r]] = size > 1 ? (double) (size - 1 - r) / (double) (size - 1) - 0.5d : 0d;
+    }
+    //gradient estimate from mirrored pairs
+    double[] gradient = state.gradient;
+    Arrays.fill(gradient, 0d);
+    for (int i = 0; i < nOfPairs; i++) {
+      double weight = utilities[2 * i] - utilities[2 * i + 1];
+      int offset = state.offsets[i];
+      for (int j = 0; j < n; j++) {
+        gradient[j] = gradient[j] + weight * noiseTable.get(offset, j);
+      }
+    }
+    //adam ascent step, with weight decay
+    long t = state.getNOfIterations() + 1;
+    double correction1 = 1d - Math.pow(BETA1, t);
+    double correction2 = 1d - Math.pow(BETA2, t);
+    for (int j = 0; j < n; j++) {
+      double g = gradient[j] / (2d * nOfPairs * sigma) - weightDecay * state.mean[j];
+      state.m[j] = BETA1 * state.m[j] + (1d - BETA1) * g;
+      state.v[j] = BETA2 * state.v[j] + (1d - BETA2) * g * g;
+      double step = (state.m[j] / correction1) / (Math.sqrt(state.v[j] / correction2) + EPSILON);
+      state.mean[j] = state.mean[j] + learningRate * step;
+    }
+    state.incNOfIterations();
+    sampleAndEvaluate(problem, random, executor, state);
+  }
+}
@@ -0,0 +1,270 @@
+package it.units.erallab.solver;
+
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Separable CMA-ES (Ros and Hansen, 2008): CMA-ES with a diagonal covariance matrix, which needs O(n) memory and time
+ * per sample instead of O(n²) and hence scales to genotypes with thousands of elements. The strategy state and the
+ * samples of the current generation are kept in preallocated {@code double[]}s, which are reused across generations;
+ * only the genotypes given to the solution mapper are allocated.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class SepCMAESSolver<S, Q> implements IterativeSolver<SepCMAESSolver.State<S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private final Function<? super List<Double>, ? extends S> solutionMapper;
+  private final int n;
+  private final int lambda;
+  private final double initialSigma;
+  private final double initialMeanRange;
+  private final Predicate<? super State<S, Q>> stopCondition;
+
+  private final int mu;
+  private final double[] weights;
+  private final double muEff;
+  private final double cSigma;
+  private final double dSigma;
+  private final double cc;
+  private final double c1;
+  private final double cMu;
+  private final double chiN;
+
+  public SepCMAESSolver(
+      Function<? super List<Double>, ? extends S> solutionMapper,
+      int n,
+      int lambda,
+      double initialSigma,
+      double initialMeanRange,
+      Predicate<? super State<S, Q>> stopCondition
+  ) {
+    this.solutionMapper = solutionMapper;
+    this.n = n;
+    this.lambda = lambda;
+    this.initialSigma = initialSigma;
+    this.initialMeanRange = initialMeanRange;
+    this.stopCondition = stopCondition;
+    //strategy parameters, as in the default CMA-ES setting
+    mu = lambda / 2;
+    weights = new double[mu];
+    double sumOfWeights = 0d;
+    for (int i = 0; i < mu; i++) {
+      weights[i] = Math.log(mu + 0.5d) - Math.log(i + 1);
+      sumOfWeights = sumOfWeights + weights[i];
+    }
+    double sumOfSquaredWeights = 0d;
+    for (int i = 0; i < mu; i++) {
+      weights[i] = weights[i] / sumOfWeights;
+      sumOfSquaredWeights = sumOfSquaredWeights + weights[i] * weights[i];
+    }
+    muEff = 1d / sumOfSquaredWeights;
+    cSigma = (muEff + 2d) / (n + muEff + 5d);
+    dSigma = 1d + 2d * Math.max(0d, Math.sqrt((muEff - 1d) / (n + 1d)) - 1d) + cSigma;
+    cc = (4d + muEff / n) / (n + 4d + 2d * muEff / n);
+    //learning rates of the separable variant are larger by (n+2)/3
+    double fullC1 = 2d / ((n + 1.3d) * (n + 1.3d) + muEff);
+    double fullCMu = Math.min(1d - fullC1, 2d * (muEff - 2d + 1d / muEff) / ((n + 2d) * (n + 2d) + muEff));
+    c1 = Math.min(1d, fullC1 * (n + 2d) / 3d);
+    cMu = Math.min(1d - c1, fullCMu * (n + 2d) / 3d);
+    chiN = Math.sqrt(n) * (1d - 1d / (4d * n) + 1d / (21d * n * n));
+  }
+
+  public static int defaultLambda(int n) {
+    return 4 + (int) Math.floor(3d * Math.log(n));
+  }
+
+  public static class State<S, Q> extends POSetPopulationState<List<Double>, S, Q> {
+    private final double[] mean;
+    private final double[] c;
+    private final double[] pSigma;
+    private final double[] pC;
+    private final double[][] zs;
+    private final double[][] ys;
+    private final double[] weightedYs;
+    private List<Individual<List<Double>, S, Q>> individuals;
+    private double sigma;
+
+    private State(int n, int lambda, double sigma) {
+      mean = new double[n];
+      c = new double[n];
+      Arrays.fill(c, 1d);
+      pSigma = new double[n];
+      pC = new double[n];
+      zs = new double[lambda][n];
+      ys = new double[lambda][n];
+      weightedYs = new double[n];
+      this.sigma = sigma;
+    }
+
+    private State(POSetPopulationState<List<Double>, S, Q> copy, State<S, Q> state) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      mean = state.mean.clone();
+      c = state.c.clone();
+      pSigma = state.pSigma.clone();
+      pC = state.pC.clone();
+      zs = new double[0][];
+      ys = new double[0][];
+      weightedYs = new double[0];
+      individuals = state.individuals == null ? null : List.copyOf(state.individuals);
+      sigma = state.sigma;
+    }
+
+    public double getSigma() {
+      return sigma;
+    }
+
+    @Override
+    public State<S, Q> immutableCopy() {
+      //the distribution, but not the sampling buffers
+      return new State<>(super.immutableCopy(), this);
+    }
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    State<S, Q> state = new State<>(n, lambda, initialSigma);
+    for (int j = 0; j < n; j++) {
+      state.mean[j] = (random.nextDouble() * 2d - 1d) * initialMeanRange;
+    }
+    sampleAndEvaluate(problem, random, executor, state);
+    return state;
+  }
+
+  private void sampleAndEvaluate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    long iteration = state.getNOfIterations();
+    List<Callable<Individual<List<Double>, S, Q>>> tasks = new ArrayList<>(lambda);
+    for (int k = 0; k < lambda; k++) {
+      double[] z = state.zs[k];
+      double[] y = state.ys[k];
+      List<Double> genotype = new ArrayList<>(n);
+      for (int j = 0; j < n; j++) {
+        z[j] = random.nextGaussian();
+        y[j] = Math.sqrt(state.c[j]) * z[j];
+        genotype.add(state.mean[j] + state.sigma * y[j]);
+      }
+      tasks.add(() -> {
+        S solution = solutionMapper.apply(genotype);
+        return new Individual<>(genotype, solution, problem.qualityFunction().apply(solution), iteration, iteration);
+      });
+    }
+    List<Individual<List<Double>, S, Q>> individuals = new ArrayList<>(lambda);
+    try {
+      for (Future<Individual<List<Double>, S, Q>> future : executor.invokeAll(tasks)) {
+        individuals.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+    state.incNOfBirths(lambda);
+    state.incNOfFitnessEvaluations(lambda);
+    state.individuals = individuals;
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        individuals,
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return stopCondition.test(state);
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    //rank the samples of the last generation, best first
+    List<Individual<List<Double>, S, Q>> individuals = state.individuals;
+    int[] ranking = IntStream.range(0, lambda)
+        .boxed()
+        .sorted((k1, k2) -> problem.totalOrderComparator()
+            .compare(individuals.get(k1).fitness(), individuals.get(k2).fitness()))
+        .mapToInt(k -> k)
+        .toArray();
+    //step-size evolution path
+    double[] weightedYs = state.weightedYs;
+    double pSigmaFactor = Math.sqrt(cSigma * (2d - cSigma) * muEff);
+    double pSigmaNorm2 = 0d;
+    for (int j = 0; j < n; j++) {
+      double weightedZ = 0d;
+      double weightedY = 0d;
+      for (int i = 0; i < mu; i++) {
+        weightedZ = weightedZ + weights[i] * state.zs[ranking[i]][j];
+        weightedY = weightedY + weights[i] * state.ys[ranking[i]][j];
+      }
+      weightedYs[j] = weightedY;
+      state.pSigma[j] = (1d - cSigma) * state.pSigma[j] + pSigmaFactor * weightedZ;
+      pSigmaNorm2 = pSigmaNorm2 + state.pSigma[j] * state.pSigma[j];
+    }
+    double pSigmaNorm = Math.sqrt(pSigmaNorm2);
+    double generation = state.getNOfIterations() + 1;
+    boolean hSigma = pSigmaNorm / Math.sqrt(1d - Math.pow(1d - cSigma, 2d * generation))
+        < (1.4d + 2d / (n + 1d)) * chiN;
+    //mean, covariance evolution path, and diagonal covariance
+    double pCFactor = hSigma ? Math.sqrt(cc * (2d - cc) * muEff) : 0d;
+    double stallCorrection = hSigma ? 0d : cc * (2d - cc);
+    for (int j = 0; j < n; j++) {
+      state.mean[j] = state.mean[j] + state.sigma * weightedYs[j];
+      state.pC[j] = (1d - cc) * state.pC[j] + pCFactor * weightedYs[j];
+      double rankMu = 0d;
+      for (int i = 0; i < mu; i++) {
+        double y = state.ys[ranking[i]][j];
+        rankMu = rankMu + weights[i] * y * y;
+      }
+      state.c[j] = (1d - c1 - cMu) * state.c[j]
+          + c1 * (state.pC[j] * state.pC[j] + stallCorrection * state.c[j])
+          + cMu * rankMu;
+    }
+    //step size
+    state.sigma = state.sigma * Math.exp((cSigma / dSigma) * (pSigmaNorm / chiN - 1d));
+    state.incNOfIterations();
+    sampleAndEvaluate(problem, random, executor, state);
+  }
+}
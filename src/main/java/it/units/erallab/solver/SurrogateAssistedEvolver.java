@@ -0,0 +1,292 @@
+package it.units.erallab.solver;
+
+import it.units.erallab.util.Correlations;
+import it.units.malelab.jgea.core.Factory;
+import it.units.malelab.jgea.core.TotalOrderQualityBasedProblem;
+import it.units.malelab.jgea.core.operator.GeneticOperator;
+import it.units.malelab.jgea.core.order.DAGPartiallyOrderedCollection;
+import it.units.malelab.jgea.core.selector.Selector;
+import it.units.malelab.jgea.core.solver.Individual;
+import it.units.malelab.jgea.core.solver.IterativeSolver;
+import it.units.malelab.jgea.core.solver.SolverException;
+import it.units.malelab.jgea.core.solver.state.POSetPopulationState;
+import it.units.malelab.jgea.core.util.Misc;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * A generational evolutionary algorithm with overlapping populations in which offspring are pre-screened by a k-NN
+ * surrogate: at each generation, {@code oversampling} times the population size offspring are bred and only the
+ * population size ones the surrogate ranks best are actually evaluated. The surrogate predicts the normalized rank
+ * (0 for the best, 1 for the worst) of a genotype in an archive of the most recently evaluated individuals as the mean
+ * rank of its k nearest archive genotypes; since it relies only on the total order of the problem, it works with any
+ * quality type. The archive is updated with every evaluated individual. The state reports how many evaluations have
+ * been saved and the Spearman correlation between predicted and actual ranks of the last evaluated offspring.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class SurrogateAssistedEvolver<S, Q> implements IterativeSolver<SurrogateAssistedEvolver.State<S, Q>,
+    TotalOrderQualityBasedProblem<S, Q>, S> {
+
+  private final Function<? super List<Double>, ? extends S> solutionMapper;
+  private final Factory<? extends List<Double>> genotypeFactory;
+  private final int populationSize;
+  private final Predicate<? super State<S, Q>> stopCondition;
+  private final Map<GeneticOperator<List<Double>>, Double> operators;
+  private final Selector<? super Individual<? super List<Double>, ? super S, ? super Q>> parentSelector;
+  private final int oversampling;
+  private final int k;
+  private final int archiveSize;
+
+  public SurrogateAssistedEvolver(
+      Function<? super List<Double>, ? extends S> solutionMapper,
+      Factory<? extends List<Double>> genotypeFactory,
+      int populationSize,
+      Predicate<? super State<S, Q>> stopCondition,
+      Map<GeneticOperator<List<Double>>, Double> operators,
+      Selector<? super Individual<? super List<Double>, ? super S, ? super Q>> parentSelector,
+      int oversampling,
+      int k,
+      int archiveSize
+  ) {
+    this.solutionMapper = solutionMapper;
+    this.genotypeFactory = genotypeFactory;
+    this.populationSize = populationSize;
+    this.stopCondition = stopCondition;
+    this.operators = operators;
+    this.parentSelector = parentSelector;
+    this.oversampling = oversampling;
+    this.k = k;
+    this.archiveSize = archiveSize;
+  }
+
+  public static class State<S, Q> extends POSetPopulationState<List<Double>, S, Q> {
+    private final double[][] archiveGenotypes;
+    private final List<Q> archiveQualities;
+    private int archiveNext;
+    private long nOfSavedEvaluations;
+    private double accuracy;
+
+    private State(int archiveSize) {
+      archiveGenotypes = new double[archiveSize][];
+      archiveQualities = new ArrayList<>(archiveSize);
+      accuracy = Double.NaN;
+    }
+
+    private State(POSetPopulationState<List<Double>, S, Q> copy, long nOfSavedEvaluations, double accuracy) {
+      super(
+          copy.getStartingDateTime(),
+          copy.getElapsedMillis(),
+          copy.getNOfIterations(),
+          copy.getNOfBirths(),
+          copy.getNOfFitnessEvaluations(),
+          copy.getPopulation()
+      );
+      archiveGenotypes = new double[0][];
+      archiveQualities = List.of();
+      this.nOfSavedEvaluations = nOfSavedEvaluations;
+      this.accuracy = accuracy;
+    }
+
+    public double getAccuracy() {
+      return accuracy;
+    }
+
+    public long getNOfSavedEvaluations() {
+      return nOfSavedEvaluations;
+    }
+
+    @Override
+    public State<S, Q> immutableCopy() {
+      //the archive is not of interest for listeners
+      return new State<>(super.immutableCopy(), nOfSavedEvaluations, accuracy);
+    }
+  }
+
+  private static double[] toArray(List<Double> genotype) {
+    double[] values = new double[genotype.size()];
+    for (int j = 0; j < values.length; j++) {
+      values[j] = genotype.get(j);
+    }
+    return values;
+  }
+
+  private static double squaredDistance(double[] v1, double[] v2) {
+    double d = 0d;
+    for (int j = 0; j < v1.length; j++) {
+      d = d + (v1[j] - v2[j]) * (v1[j] - v2[j]);
+    }
+    return d;
+  }
+
+  @Override
+  public Collection<S> extractSolutions(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return state.getPopulation().firsts().stream().map(Individual::solution).toList();
+  }
+
+  @Override
+  public State<S, Q> init(
+      TotalOrderQualityBasedProblem<S, Q> problem, RandomGenerator random, ExecutorService executor
+  ) throws SolverException {
+    State<S, Q> state = new State<>(archiveSize);
+    List<Individual<List<Double>, S, Q>> individuals = evaluate(
+        problem,
+        executor,
+        state,
+        new ArrayList<>(genotypeFactory.build(populationSize, random))
+    );
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        individuals,
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+    return state;
+  }
+
+  private List<Individual<List<Double>, S, Q>> evaluate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      ExecutorService executor,
+      State<S, Q> state,
+      List<List<Double>> genotypes
+  ) throws SolverException {
+    long iteration = state.getNOfIterations();
+    List<Callable<Individual<List<Double>, S, Q>>> tasks = new ArrayList<>(genotypes.size());
+    for (List<Double> genotype : genotypes) {
+      tasks.add(() -> {
+        S solution = solutionMapper.apply(genotype);
+        return new Individual<>(genotype, solution, problem.qualityFunction().apply(solution), iteration, iteration);
+      });
+    }
+    List<Individual<List<Double>, S, Q>> individuals = new ArrayList<>(genotypes.size());
+    try {
+      for (Future<Individual<List<Double>, S, Q>> future : executor.invokeAll(tasks)) {
+        individuals.add(future.get());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new SolverException(e);
+    }
+    state.incNOfBirths(individuals.size());
+    state.incNOfFitnessEvaluations(individuals.size());
+    for (Individual<List<Double>, S, Q> individual : individuals) {
+      //the archive is a ring: the oldest individual is replaced
+      state.archiveGenotypes[state.archiveNext] = toArray(individual.genotype());
+      if (state.archiveQualities.size() < archiveSize) {
+        state.archiveQualities.add(individual.fitness());
+      } else {
+        state.archiveQualities.set(state.archiveNext, individual.fitness());
+      }
+      state.archiveNext = (state.archiveNext + 1) % archiveSize;
+    }
+    return individuals;
+  }
+
+  private double[] predict(TotalOrderQualityBasedProblem<S, Q> problem, State<S, Q> state, List<double[]> candidates) {
+    //normalized ranks of archive individuals
+    int size = state.archiveQualities.size();
+    int[] order = IntStream.range(0, size)
+        .boxed()
+        .sorted((i1, i2) -> problem.totalOrderComparator()
+            .compare(state.archiveQualities.get(i1), state.archiveQualities.get(i2)))
+        .mapToInt(i -> i)
+        .toArray();
+    double[] archiveRanks = new double[size];
+    for (int r = 0; r < size; r++) {
+      archiveRanks[order[r]] = size > 1 ? (double) r / (double) (size - 1) : 0d;
+    }
+    //mean rank of the k nearest neighbors
+    int nOfNeighbors = Math.min(k, size);
+    double[] predictions = new double[candidates.size()];
+    double[] distances = new double[size];
+    for (int c = 0; c < candidates.size(); c++) {
+      double[] candidate = candidates.get(c);
+      for (int i = 0; i < size; i++) {
+        distances[i] = squaredDistance(candidate, state.archiveGenotypes[i]);
+      }
+      predictions[c] = IntStream.range(0, size)
+          .boxed()
+          .sorted(Comparator.comparingDouble(i -> distances[i]))
+          .limit(nOfNeighbors)
+          .mapToDouble(i -> archiveRanks[i])
+          .average()
+          .orElse(0.5d);
+    }
+    return predictions;
+  }
+
+  @Override
+  public boolean terminate(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) {
+    return stopCondition.test(state);
+  }
+
+  @Override
+  public void update(
+      TotalOrderQualityBasedProblem<S, Q> problem,
+      RandomGenerator random,
+      ExecutorService executor,
+      State<S, Q> state
+  ) throws SolverException {
+    //breed more offspring than needed
+    List<List<Double>> candidates = new ArrayList<>(populationSize * oversampling);
+    while (candidates.size() < populationSize * oversampling) {
+      GeneticOperator<List<Double>> operator = Misc.pickRandomly(operators, random);
+      List<List<Double>> parents = new ArrayList<>(operator.arity());
+      for (int j = 0; j < operator.arity(); j++) {
+        parents.add(parentSelector.select(state.getPopulation(), random).genotype());
+      }
+      candidates.addAll(operator.apply(parents, random));
+    }
+    //evaluate only the most promising ones
+    double[] predictions = predict(problem, state, candidates.stream().map(SurrogateAssistedEvolver::toArray).toList());
+    int[] selected = IntStream.range(0, candidates.size())
+        .boxed()
+        .sorted(Comparator.comparingDouble(i -> predictions[i]))
+        .limit(populationSize)
+        .mapToInt(i -> i)
+        .toArray();
+    List<Individual<List<Double>, S, Q>> offspring = evaluate(
+        problem,
+        executor,
+        state,
+        Arrays.stream(selected).mapToObj(candidates::get).toList()
+    );
+    state.nOfSavedEvaluations = state.nOfSavedEvaluations + candidates.size() - selected.length;
+    //surrogate accuracy on the evaluated offspring
+    double[] actualRanks = new double[offspring.size()];
+    int[] order = IntStream.range(0, offspring.size())
+        .boxed()
+        .sorted((i1, i2) -> problem.totalOrderComparator()
+            .compare(offspring.get(i1).fitness(), offspring.get(i2).fitness()))
+        .mapToInt(i -> i)
+        .toArray();
+    for (int r = 0; r < order.length; r++) {
+      actualRanks[order[r]] = r;
+    }
+    state.accuracy = Correlations.spearman(Arrays.stream(selected).mapToDouble(i -> predictions[i]).toArray(), actualRanks);
+    //survival of the best among parents and offspring
+    List<Individual<List<Double>, S, Q>> individuals = new ArrayList<>(state.getPopulation().all());
+    individuals.addAll(offspring);
+    individuals.sort((i1, i2) -> problem.totalOrderComparator().compare(i1.fitness(), i2.fitness()));
+    state.setPopulation(new DAGPartiallyOrderedCollection<>(
+        individuals.subList(0, Math.min(populationSize, individuals.size())),
+        (i1, i2) -> problem.qualityComparator().compare(i1.fitness(), i2.fitness())
+    ));
+    state.incNOfIterations();
+  }
+}
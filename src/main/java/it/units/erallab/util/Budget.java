@@ -0,0 +1,128 @@
+package it.units.erallab.util;
+
+import it.units.malelab.jgea.core.listener.Listener;
+import it.units.malelab.jgea.core.solver.state.State;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The cost spent by a run in terms of simulated seconds and CPU seconds of the threads running simulations, which,
+ * differently from the number of fitness evaluations, accounts for episodes of different lengths (e.g., early stopped
+ * or at lower fidelity). Simulations are accounted by wrapping them with {@link #track(Function, ToDoubleFunction)}:
+ * cached outcomes should not be wrapped, since they cost nothing. A budget is bound to the thread building the solver,
+ * so that the stop conditions built by {@link #simulatedSecondsAtLeast(double)} and {@link #cpuSecondsAtLeast(double)}
+ * capture it and can be tested on any thread, and a snapshot of it is attached to a copy of each state given to
+ * listeners wrapped with {@link #attaching(Budget, Listener)}.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class Budget {
+
+  private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final String MEMO_NAME = "budget";
+
+  private final DoubleAdder simulatedSeconds;
+  private final LongAdder cpuNanos;
+
+  public Budget() {
+    simulatedSeconds = new DoubleAdder();
+    cpuNanos = new LongAdder();
+  }
+
+  public record Snapshot(double simulatedSeconds, double cpuSeconds) {}
+
+  public static <E extends State> Listener<E> attaching(Budget budget, Listener<? super E> listener) {
+    return new Listener<>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public void listen(E e) {
+        //snapshots are memoized by identity, hence each iteration gets its own copy of the state
+        E copy = (E) e.immutableCopy();
+        budget.attach(copy);
+        listener.listen(copy);
+      }
+
+      @Override
+      public void done() {
+        listener.done();
+      }
+    };
+  }
+
+  public static Budget current() {
+    return CURRENT.get();
+  }
+
+  public static void bind(Budget budget) {
+    if (budget == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(budget);
+    }
+  }
+
+  public static Snapshot of(Object state) {
+    return MetricMemo.get(state, MEMO_NAME, () -> null);
+  }
+
+  public static Predicate<Object> simulatedSecondsAtLeast(double seconds) {
+    Budget budget = required();
+    return s -> budget.getSimulatedSeconds() >= seconds;
+  }
+
+  public static Predicate<Object> cpuSecondsAtLeast(double seconds) {
+    Budget budget = required();
+    return s -> budget.getCpuSeconds() >= seconds;
+  }
+
+  private static Budget required() {
+    Budget budget = current();
+    if (budget == null) {
+      throw new IllegalStateException("No budget bound to the current thread");
+    }
+    return budget;
+  }
+
+  private static long cpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ?
+        THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+  }
+
+  public void attach(Object state) {
+    MetricMemo.get(state, MEMO_NAME, this::snapshot);
+  }
+
+  public double getCpuSeconds() {
+    return cpuNanos.sum() / 1e9;
+  }
+
+  public double getSimulatedSeconds() {
+    return simulatedSeconds.sum();
+  }
+
+  public Snapshot snapshot() {
+    return new Snapshot(getSimulatedSeconds(), getCpuSeconds());
+  }
+
+  public <T, R> Function<T, R> track(Function<T, R> simulation, ToDoubleFunction<? super R> simulatedSecondsFunction) {
+    return t -> {
+      long startingCpuTime = cpuTime();
+      R r = simulation.apply(t);
+      cpuNanos.add(cpuTime() - startingCpuTime);
+      simulatedSeconds.add(simulatedSecondsFunction.applyAsDouble(r));
+      return r;
+    };
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Budget{simulated=%.1fs, cpu=%.1fs}", getSimulatedSeconds(), getCpuSeconds());
+  }
+}
@@ -0,0 +1,58 @@
+package it.units.erallab.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class Correlations {
+
+  private Correlations() {
+  }
+
+  public static double pearson(double[] xs, double[] ys) {
+    if (xs.length != ys.length) {
+      throw new IllegalArgumentException(String.format("Different lengths: %d and %d", xs.length, ys.length));
+    }
+    if (xs.length < 2) {
+      return Double.NaN;
+    }
+    double xMean = Arrays.stream(xs).average().orElse(0d);
+    double yMean = Arrays.stream(ys).average().orElse(0d);
+    double xy = 0d;
+    double xx = 0d;
+    double yy = 0d;
+    for (int i = 0; i < xs.length; i++) {
+      xy = xy + (xs[i] - xMean) * (ys[i] - yMean);
+      xx = xx + (xs[i] - xMean) * (xs[i] - xMean);
+      yy = yy + (ys[i] - yMean) * (ys[i] - yMean);
+    }
+    return xy / Math.sqrt(xx * yy);
+  }
+
+  public static double[] ranks(double[] values) {
+    Integer[] indexes = IntStream.range(0, values.length).boxed().toArray(Integer[]::new);
+    Arrays.sort(indexes, Comparator.comparingDouble(i -> values[i]));
+    double[] ranks = new double[values.length];
+    int i = 0;
+    while (i < indexes.length) {
+      int j = i;
+      while (j + 1 < indexes.length && values[indexes[j + 1]] == values[indexes[i]]) {
+        j = j + 1;
+      }
+      double rank = (i + j) / 2d;
+      for (int k = i; k <= j; k++) {
+        ranks[indexes[k]] = rank;
+      }
+      i = j + 1;
+    }
+    return ranks;
+  }
+
+  public static double spearman(double[] xs, double[] ys) {
+    return pearson(ranks(xs), ranks(ys));
+  }
+
+}
@@ -0,0 +1,95 @@
+package it.units.erallab.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded and thread-safe cache with least-recently-used eviction. A value is computed at most once per key: callers
+ * asking for a key whose value is being computed by another thread wait for that computation instead of repeating it.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class LRUCache<K, V> {
+
+  private final int capacity;
+  private final Map<K, FutureTask<V>> map;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+
+  public LRUCache(int capacity) {
+    this.capacity = capacity;
+    map = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, FutureTask<V>> eldest) {
+        return size() > LRUCache.this.capacity;
+      }
+    };
+    hits = new AtomicLong();
+    misses = new AtomicLong();
+  }
+
+  public V get(K key, Supplier<? extends V> supplier) {
+    FutureTask<V> task;
+    boolean computing = false;
+    synchronized (map) {
+      task = map.get(key);
+      if (task == null) {
+        task = new FutureTask<>(supplier::get);
+        map.put(key, task);
+        computing = true;
+      }
+    }
+    if (computing) {
+      misses.incrementAndGet();
+      task.run();
+    } else {
+      hits.incrementAndGet();
+    }
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      synchronized (map) {
+        map.remove(key, task);
+      }
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public int size() {
+    synchronized (map) {
+      return map.size();
+    }
+  }
+
+  @Override
+  public String toString() {
+    long nOfHits = hits.get();
+    long nOfMisses = misses.get();
+    return String.format(
+        "%d hits, %d misses (%.1f%%), %d/%d entries",
+        nOfHits,
+        nOfMisses,
+        100d * (double) nOfHits / Math.max(1d, nOfHits + nOfMisses),
+        size(),
+        capacity
+    );
+  }
+}
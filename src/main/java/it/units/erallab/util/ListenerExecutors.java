@@ -0,0 +1,36 @@
+package it.units.erallab.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Executors for deferred listeners, which run listener calls on their own thread, not to take threads from
+ * simulations. An executor has a single thread, so that the calls of a listener run in the order they were issued.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class ListenerExecutors {
+
+  private static final Logger L = Logger.getLogger(ListenerExecutors.class.getName());
+
+  private ListenerExecutors() {
+  }
+
+  public static ExecutorService newListenerExecutor(String name) {
+    return Executors.newSingleThreadExecutor(r -> new Thread(r, name));
+  }
+
+  public static void shutdownAndWait(ExecutorService executorService) {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(1, TimeUnit.HOURS)) {
+        L.warning("Listeners did not complete in time");
+      }
+    } catch (InterruptedException e) {
+      L.warning(String.format("Interrupted while waiting for listeners: %s", e));
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package it.units.erallab.util;
+
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide memo of metrics computed on objects (e.g., outcomes), shared by all the functions which compute them.
+ * Objects are weakly referenced and compared by identity, so entries go away with the objects they are about.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class MetricMemo {
+
+  private static final ConcurrentMap<Object, Map<String, Object>> MEMO = CacheBuilder.newBuilder()
+      .weakKeys()
+      .<Object, Map<String, Object>>build()
+      .asMap();
+
+  private MetricMemo() {
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> V get(Object owner, String name, Supplier<V> supplier) {
+    Map<String, Object> metrics = MEMO.computeIfAbsent(owner, o -> new ConcurrentHashMap<>());
+    Object value = metrics.get(name);
+    if (value == null) {
+      // not computeIfAbsent, because the supplier may in turn look up other metrics of the same owner
+      value = supplier.get();
+      if (value != null) {
+        Object previous = metrics.putIfAbsent(name, value);
+        value = previous == null ? value : previous;
+      }
+    }
+    return (V) value;
+  }
+
+}
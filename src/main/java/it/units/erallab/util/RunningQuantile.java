@@ -0,0 +1,64 @@
+package it.units.erallab.util;
+
+import java.util.Arrays;
+
+/**
+ * A thread-safe, growing collection of observed values which can tell how a value ranks among the ones observed so
+ * far.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class RunningQuantile {
+
+  private double[] values;
+  private int size;
+
+  public RunningQuantile() {
+    values = new double[16];
+    size = 0;
+  }
+
+  public synchronized double add(double value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    int index = upperBound(value);
+    System.arraycopy(values, index, values, index + 1, size - index);
+    values[index] = value;
+    size = size + 1;
+    return (double) (index + 1) / (double) size;
+  }
+
+  public synchronized double quantile(double q) {
+    if (size == 0) {
+      return Double.NaN;
+    }
+    return values[(int) Math.min(size - 1, Math.max(0, Math.floor(q * size)))];
+  }
+
+  public synchronized double rank(double value) {
+    if (size == 0) {
+      return Double.NaN;
+    }
+    return (double) upperBound(value) / (double) size;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private int upperBound(double value) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+}
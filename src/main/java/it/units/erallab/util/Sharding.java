@@ -0,0 +1,65 @@
+package it.units.erallab.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic partitioning of a list of items (e.g., the cells of an experiment grid) in shards, so that several
+ * processes given the same list and different shard indexes share the work without coordination.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class Sharding {
+
+  private Sharding() {
+  }
+
+  public static int[] parse(String shard) {
+    String[] pieces = shard.split("/");
+    if (pieces.length != 2) {
+      throw new IllegalArgumentException(String.format("Wrong shard format: %s instead of i/n", shard));
+    }
+    int index = Integer.parseInt(pieces[0].trim());
+    int n = Integer.parseInt(pieces[1].trim());
+    if (n < 1 || index < 0 || index >= n) {
+      throw new IllegalArgumentException(String.format("Wrong shard: %d/%d", index, n));
+    }
+    return new int[]{index, n};
+  }
+
+  public static <T> List<T> shard(List<T> items, int index, int n) {
+    return IntStream.range(0, items.size()).filter(i -> i % n == index).mapToObj(items::get).toList();
+  }
+
+  public static <T> List<T> shard(List<T> items, int index, int n, ToDoubleFunction<? super T> cost) {
+    //longest processing time first: costly items first, each to the currently least loaded shard
+    double[] costs = items.stream().mapToDouble(cost).toArray();
+    List<Integer> indexes = IntStream.range(0, items.size())
+        .boxed()
+        .sorted(Comparator.comparingDouble((Integer i) -> -costs[i]).thenComparingInt(i -> i))
+        .toList();
+    double[] loads = new double[n];
+    int[] shards = new int[items.size()];
+    for (int i : indexes) {
+      int leastLoaded = 0;
+      for (int j = 1; j < n; j++) {
+        if (loads[j] < loads[leastLoaded]) {
+          leastLoaded = j;
+        }
+      }
+      shards[i] = leastLoaded;
+      loads[leastLoaded] = loads[leastLoaded] + costs[i];
+    }
+    List<T> shard = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      if (shards[i] == index) {
+        shard.add(items.get(i));
+      }
+    }
+    return shard;
+  }
+
+}
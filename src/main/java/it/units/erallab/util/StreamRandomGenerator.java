@@ -0,0 +1,52 @@
+package it.units.erallab.util;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link RandomGenerator} which draws from a stream bound to the calling thread. Binding a new stream, derived from
+ * the seed of this generator and a key, before each evaluation makes evaluations independent of each other: they do
+ * not contend on a shared generator and their draws do not depend on how evaluations are scheduled on threads.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class StreamRandomGenerator implements RandomGenerator {
+
+  private final long seed;
+  private final ThreadLocal<SplittableRandom> stream;
+
+  public StreamRandomGenerator(long seed) {
+    this.seed = seed;
+    stream = ThreadLocal.withInitial(() -> new SplittableRandom(mix(seed)));
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  public void bind(long key) {
+    stream.set(new SplittableRandom(mix(mix(seed) ^ key)));
+  }
+
+  @Override
+  public double nextDouble() {
+    return stream.get().nextDouble();
+  }
+
+  @Override
+  public int nextInt() {
+    return stream.get().nextInt();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return stream.get().nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return stream.get().nextLong();
+  }
+}
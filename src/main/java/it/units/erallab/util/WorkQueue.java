@@ -0,0 +1,102 @@
+package it.units.erallab.util;
+
+import com.google.common.hash.Hashing;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Logger;
+
+/**
+ * A work queue shared by several processes through a directory: a process claims an item by atomically creating a
+ * claim file for it and marks it as done by creating a done file. Since file creation is atomic also on NFS, each item
+ * is processed by exactly one process. An item whose processing failed is marked with a failed file and it is not
+ * claimed again, not to fail over and over on all processes: its failed file has to be removed by hand to retry it.
+ * Claims of processes which died are not released: their claim files have to be removed by hand.
+ *
+ * @author eric on 2026/10/17 for VSREvolution
+ */
+public class WorkQueue {
+
+  private static final Logger L = Logger.getLogger(WorkQueue.class.getName());
+
+  private static final String CLAIM_EXTENSION = ".claim";
+  private static final String DONE_EXTENSION = ".done";
+  private static final String FAILED_EXTENSION = ".failed";
+
+  private final File dir;
+  private final String workerId;
+
+  public WorkQueue(File dir, String workerId) throws IOException {
+    this.dir = dir;
+    this.workerId = workerId;
+    Files.createDirectories(dir.toPath());
+  }
+
+  public static String defaultWorkerId() {
+    String hostName;
+    try {
+      hostName = InetAddress.getLocalHost().getHostName();
+    } catch (IOException e) {
+      hostName = "localhost";
+    }
+    return hostName + "-" + ProcessHandle.current().pid();
+  }
+
+  private static String id(String item) {
+    return Hashing.sha256().hashString(item, StandardCharsets.UTF_8).toString();
+  }
+
+  public static String workerFileName(String fileName, String workerId) {
+    if (fileName == null) {
+      return null;
+    }
+    int dotIndex = fileName.lastIndexOf('.');
+    if (dotIndex <= fileName.lastIndexOf(File.separatorChar)) {
+      return fileName + "." + workerId;
+    }
+    return fileName.substring(0, dotIndex) + "." + workerId + fileName.substring(dotIndex);
+  }
+
+  public boolean claim(String item) {
+    String id = id(item);
+    if (new File(dir, id + DONE_EXTENSION).exists() || new File(dir, id + FAILED_EXTENSION).exists()) {
+      return false;
+    }
+    File claimFile = new File(dir, id + CLAIM_EXTENSION);
+    try {
+      if (!claimFile.createNewFile()) {
+        return false;
+      }
+      Files.writeString(claimFile.toPath(), workerId + "\n" + item + "\n");
+      return true;
+    } catch (IOException e) {
+      L.warning(String.format("Cannot claim %s: %s", item, e));
+      return false;
+    }
+  }
+
+  public void done(String item) {
+    try {
+      Files.writeString(new File(dir, id(item) + DONE_EXTENSION).toPath(), workerId + "\n" + item + "\n");
+    } catch (IOException e) {
+      L.warning(String.format("Cannot mark %s as done: %s", item, e));
+    }
+  }
+
+  public void failed(String item) {
+    try {
+      Files.writeString(new File(dir, id(item) + FAILED_EXTENSION).toPath(), workerId + "\n" + item + "\n");
+      //the claim is released after marking the failure, so the item is never claimable in between
+      Files.deleteIfExists(new File(dir, id(item) + CLAIM_EXTENSION).toPath());
+    } catch (IOException e) {
+      L.warning(String.format("Cannot mark %s as failed: %s", item, e));
+    }
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+}